@@ -0,0 +1,87 @@
+package putko.parser.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import putko.parser.ObjectParser;
+import putko.parser.XmlParser;
+import putko.parser.access.AccessorStrategy;
+import putko.parser.access.FieldAccessor;
+import putko.parser.annotation.XmlElement;
+import putko.parser.annotation.XmlRoot;
+
+/**
+ * Compares the reflective and the method handle field accessors, both in
+ * isolation and end to end through {@link XmlParser#readObject(String, Class)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessorBenchmark {
+
+	private static final String DOCUMENT = "<Primitives><int>42</int><long>1234567890123</long><double>3.25</double><text>abc</text></Primitives>";
+
+	@Param({ "REFLECTION", "METHOD_HANDLE" })
+	private AccessorStrategy strategy;
+
+	private FieldAccessor intAccessor;
+	private FieldAccessor longAccessor;
+	private FieldAccessor doubleAccessor;
+	private FieldAccessor textAccessor;
+	private Primitives target;
+	private ObjectParser parser;
+	private int counter;
+
+	@Setup
+	public void setUp() throws Exception {
+		intAccessor = strategy.getFactory().create(Primitives.class.getDeclaredField("intValue"));
+		longAccessor = strategy.getFactory().create(Primitives.class.getDeclaredField("longValue"));
+		doubleAccessor = strategy.getFactory().create(Primitives.class.getDeclaredField("doubleValue"));
+		textAccessor = strategy.getFactory().create(Primitives.class.getDeclaredField("text"));
+		target = new Primitives();
+		parser = new XmlParser();
+		parser.getConfiguration().setAccessorStrategy(strategy);
+	}
+
+	@Benchmark
+	public Primitives setFields() {
+		int value = counter++;
+		intAccessor.setInt(target, value);
+		longAccessor.setLong(target, value);
+		doubleAccessor.setDouble(target, value);
+		textAccessor.set(target, DOCUMENT);
+		return target;
+	}
+
+	@Benchmark
+	public Primitives readObject() throws Exception {
+		return parser.readObject(DOCUMENT, Primitives.class);
+	}
+
+	@XmlRoot(name = "Primitives")
+	public static class Primitives {
+		@XmlElement(name = "int")
+		private int intValue;
+		@XmlElement(name = "long")
+		private long longValue;
+		@XmlElement(name = "double")
+		private double doubleValue;
+		@XmlElement(name = "text")
+		private String text;
+	}
+
+}
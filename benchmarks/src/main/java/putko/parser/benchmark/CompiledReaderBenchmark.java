@@ -0,0 +1,54 @@
+package putko.parser.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import putko.parser.ObjectParser;
+import putko.parser.XmlParser;
+
+/**
+ * Single documents read from a {@code ByteBuffer} through StAX and through the
+ * compiled reader.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompiledReaderBenchmark {
+
+	@Param({ "FLAT", "NESTED", "PRIMITIVE", "STRINGS" })
+	private RecordKind kind;
+
+	@Param({ "false", "true" })
+	private boolean compiled;
+
+	private ObjectParser parser;
+	private ByteBuffer document;
+
+	@Setup
+	public void setUp() {
+		parser = new XmlParser(ObjectParser.Configuration.builder().compiledReader(compiled).build());
+		document = ByteBuffer.wrap(new PayloadGenerator(PayloadGenerator.DEFAULT_SEED).record(kind, false).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public Object readObject() throws Exception {
+		return parser.readObject(document, kind.getType());
+	}
+
+}
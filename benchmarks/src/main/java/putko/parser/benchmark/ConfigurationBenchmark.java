@@ -0,0 +1,63 @@
+package putko.parser.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import putko.parser.ObjectParser;
+import putko.parser.XmlParser;
+import putko.parser.benchmark.model.PrimitiveRecord;
+import putko.parser.benchmark.model.ValidatedRecord;
+import putko.parser.metrics.ParserMetrics;
+
+/**
+ * Cost of validators, of {@code ignoreNotAnnotatedElements} and of a
+ * registered {@link ParserMetrics} listener on the same primitive record. With unmapped elements enabled the document carries a
+ * metadata subtree the type does not map, which only parses when ignoring is on.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigurationBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean validators;
+
+	@Param({ "false", "true" })
+	private boolean ignoreNotAnnotatedElements;
+
+	@Param({ "false", "true" })
+	private boolean metrics;
+
+	private ObjectParser parser;
+	private String document;
+	private Class<?> type;
+
+	@Setup
+	public void setUp() {
+		parser = new XmlParser();
+		parser.getConfiguration().setIgnoreNotAnnotatedElements(ignoreNotAnnotatedElements);
+		parser.getConfiguration().setListener(metrics ? new ParserMetrics() : null);
+		document = new PayloadGenerator(PayloadGenerator.DEFAULT_SEED).record(RecordKind.PRIMITIVE, ignoreNotAnnotatedElements);
+		type = validators ? ValidatedRecord.class : PrimitiveRecord.class;
+	}
+
+	@Benchmark
+	public Object readObject() throws Exception {
+		return parser.readObject(document, type);
+	}
+
+}
@@ -0,0 +1,58 @@
+package putko.parser.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import putko.parser.ObjectParser;
+import putko.parser.XmlParser;
+import putko.parser.benchmark.model.TreeNode;
+
+/**
+ * Element dispatch cost for nested objects. Every level closes an object, so
+ * the allocation rate reported by the GC profiler ({@code gc.alloc.rate.norm})
+ * shows what the event loop allocates per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NestingBenchmark {
+
+	@Param({ "2", "8", "32" })
+	private int depth;
+
+	private ObjectParser parser;
+	private String document;
+
+	@Setup
+	public void setUp() {
+		parser = new XmlParser();
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < depth; i++) {
+			builder.append("<node><value>").append(i).append("</value><label>level</label>");
+		}
+		for (int i = 0; i < depth; i++) {
+			builder.append("</node>");
+		}
+		document = builder.toString();
+	}
+
+	@Benchmark
+	public Object readObject() throws Exception {
+		return parser.readObject(document, TreeNode.class);
+	}
+
+}
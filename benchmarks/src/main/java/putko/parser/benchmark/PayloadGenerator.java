@@ -0,0 +1,95 @@
+package putko.parser.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Builds deterministic benchmark documents. The same kind, size and seed always
+ * produce the same bytes, so results of different runs stay comparable.
+ */
+public final class PayloadGenerator {
+
+	public static final long DEFAULT_SEED = 42L;
+
+	private static final String[] WORDS = { "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf", "hotel", "india",
+			"juliett", "kilo", "lima", "mike", "november", "oscar", "papa" };
+
+	private final Random random;
+
+	public PayloadGenerator(long seed) {
+		this.random = new Random(seed);
+	}
+
+	public String record(RecordKind kind, boolean unmappedElements) {
+		StringBuilder builder = new StringBuilder(256);
+		appendRecord(builder, kind, unmappedElements);
+		return builder.toString();
+	}
+
+	public byte[] document(RecordKind kind, int records, boolean unmappedElements) {
+		StringBuilder builder = new StringBuilder(records * 160 + 32);
+		builder.append("<Records>\n");
+		for (int i = 0; i < records; i++) {
+			appendRecord(builder, kind, unmappedElements);
+			builder.append('\n');
+		}
+		builder.append("</Records>");
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void appendRecord(StringBuilder builder, RecordKind kind, boolean unmappedElements) {
+		builder.append('<').append(kind.getRootName()).append('>');
+		if (unmappedElements) {
+			builder.append("<metadata><source>").append(word()).append("</source><sequence>").append(random.nextInt(1000000))
+					.append("</sequence></metadata>");
+		}
+		switch (kind) {
+		case FLAT:
+			element(builder, "string", word());
+			element(builder, "long", Long.toString(random.nextInt(Integer.MAX_VALUE)));
+			break;
+		case NESTED:
+			element(builder, "string", word());
+			element(builder, "long", Long.toString(random.nextInt(Integer.MAX_VALUE)));
+			builder.append("<internal>");
+			element(builder, "secondString", word());
+			element(builder, "number", Integer.toString(random.nextInt(10000)));
+			builder.append("<level>");
+			element(builder, "value", Integer.toString(random.nextInt(10000)));
+			builder.append("<deeper>");
+			element(builder, "value", Integer.toString(random.nextInt(10000)));
+			builder.append("<deepest>");
+			element(builder, "value", Integer.toString(random.nextInt(10000)));
+			element(builder, "label", word());
+			builder.append("</deepest></deeper></level></internal>");
+			break;
+		case PRIMITIVE:
+			element(builder, "i1", Integer.toString(random.nextInt(1000000)));
+			element(builder, "i2", Integer.toString(random.nextInt(1000000)));
+			element(builder, "l1", Long.toString(random.nextLong() >>> 1));
+			element(builder, "l2", Long.toString(random.nextLong() >>> 1));
+			element(builder, "d1", Double.toString(random.nextInt(100000) / 100.0));
+			element(builder, "d2", Double.toString(random.nextInt(100000) / 100.0));
+			element(builder, "f1", Float.toString(random.nextInt(1000) / 10.0f));
+			element(builder, "b1", Boolean.toString(random.nextBoolean()));
+			break;
+		case STRINGS:
+			for (int i = 1; i <= 8; i++) {
+				element(builder, "s" + i, word() + ' ' + word());
+			}
+			break;
+		default:
+			throw new IllegalArgumentException(kind.name());
+		}
+		builder.append("</").append(kind.getRootName()).append('>');
+	}
+
+	private String word() {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+
+	private static void element(StringBuilder builder, String name, String value) {
+		builder.append('<').append(name).append('>').append(value).append("</").append(name).append('>');
+	}
+
+}
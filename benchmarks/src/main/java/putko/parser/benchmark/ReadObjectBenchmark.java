@@ -0,0 +1,56 @@
+package putko.parser.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import putko.parser.ObjectParser;
+import putko.parser.XmlParser;
+
+/**
+ * Single document {@code readObject} for flat, deeply nested, primitive heavy and
+ * String heavy types, and {@code readInto} rebinding the same graph in place.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReadObjectBenchmark {
+
+	@Param({ "FLAT", "NESTED", "PRIMITIVE", "STRINGS" })
+	private RecordKind kind;
+
+	private ObjectParser parser;
+	private String document;
+	private Object target;
+
+	@Setup
+	public void setUp() throws Exception {
+		parser = new XmlParser();
+		document = new PayloadGenerator(PayloadGenerator.DEFAULT_SEED).record(kind, false);
+		target = parser.readObject(document, kind.getType());
+	}
+
+	@Benchmark
+	public Object readObject() throws Exception {
+		return parser.readObject(document, kind.getType());
+	}
+
+	@Benchmark
+	public Object readInto() throws Exception {
+		return parser.readInto(document, target);
+	}
+
+}
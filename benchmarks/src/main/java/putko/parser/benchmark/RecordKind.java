@@ -0,0 +1,31 @@
+package putko.parser.benchmark;
+
+import putko.parser.benchmark.model.FlatRecord;
+import putko.parser.benchmark.model.NestedRecord;
+import putko.parser.benchmark.model.PrimitiveRecord;
+import putko.parser.benchmark.model.StringRecord;
+
+public enum RecordKind {
+
+	FLAT("Flat", FlatRecord.class),
+	NESTED("Nested", NestedRecord.class),
+	PRIMITIVE("Primitive", PrimitiveRecord.class),
+	STRINGS("Strings", StringRecord.class);
+
+	private final String rootName;
+	private final Class<?> type;
+
+	RecordKind(String rootName, Class<?> type) {
+		this.rootName = rootName;
+		this.type = type;
+	}
+
+	public String getRootName() {
+		return rootName;
+	}
+
+	public Class<?> getType() {
+		return type;
+	}
+
+}
@@ -0,0 +1,57 @@
+package putko.parser.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import putko.parser.ObjectParser;
+import putko.parser.XmlParser;
+
+/**
+ * Documents with many elements: every record of a generated document is bound
+ * through {@code readStream}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RecordStreamBenchmark {
+
+	@Param({ "FLAT", "NESTED", "PRIMITIVE", "STRINGS" })
+	private RecordKind kind;
+
+	@Param({ "10", "1000", "100000" })
+	private int records;
+
+	private ObjectParser parser;
+	private byte[] document;
+
+	@Setup
+	public void setUp() {
+		parser = new XmlParser();
+		document = new PayloadGenerator(PayloadGenerator.DEFAULT_SEED).document(kind, records, false);
+	}
+
+	@Benchmark
+	public void readStream(Blackhole blackhole) throws Exception {
+		try (Stream<?> stream = parser.readStream(new ByteArrayInputStream(document), kind.getRootName(), kind.getType())) {
+			stream.forEach(blackhole::consume);
+		}
+	}
+
+}
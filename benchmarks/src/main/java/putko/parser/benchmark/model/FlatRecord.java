@@ -0,0 +1,15 @@
+package putko.parser.benchmark.model;
+
+import putko.parser.annotation.XmlElement;
+import putko.parser.annotation.XmlRoot;
+
+@XmlRoot(name = "Flat")
+public class FlatRecord {
+
+	@XmlElement(name = "string")
+	private String text;
+
+	@XmlElement(name = "long")
+	private Long number;
+
+}
@@ -0,0 +1,65 @@
+package putko.parser.benchmark.model;
+
+import putko.parser.annotation.XmlElement;
+import putko.parser.annotation.XmlRoot;
+
+@XmlRoot(name = "Nested")
+public class NestedRecord {
+
+	@XmlElement(name = "string")
+	private String text;
+
+	@XmlElement(name = "long")
+	private Long number;
+
+	@XmlElement(name = "internal")
+	private Internal internal;
+
+	@XmlRoot
+	public static class Internal {
+
+		@XmlElement(name = "secondString")
+		private String secondString;
+
+		@XmlElement(name = "number")
+		private int number;
+
+		@XmlElement(name = "level")
+		private Level level;
+
+	}
+
+	@XmlRoot
+	public static class Level {
+
+		@XmlElement(name = "value")
+		private int value;
+
+		@XmlElement(name = "deeper")
+		private DeeperLevel deeper;
+
+	}
+
+	@XmlRoot
+	public static class DeeperLevel {
+
+		@XmlElement(name = "value")
+		private int value;
+
+		@XmlElement(name = "deepest")
+		private DeepestLevel deepest;
+
+	}
+
+	@XmlRoot
+	public static class DeepestLevel {
+
+		@XmlElement(name = "value")
+		private int value;
+
+		@XmlElement(name = "label")
+		private String label;
+
+	}
+
+}
@@ -0,0 +1,17 @@
+package putko.parser.benchmark.model;
+
+import java.lang.reflect.Field;
+
+import putko.parser.validation.ValidationException;
+import putko.parser.validation.Validator;
+
+public class PositiveValidator extends Validator<Number> {
+
+	@Override
+	public void validate(Number value, Field field) throws ValidationException {
+		if (value.doubleValue() < 0) {
+			throw new ValidationException(field.getName() + " should not be negative");
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+package putko.parser.benchmark.model;
+
+import putko.parser.annotation.XmlElement;
+import putko.parser.annotation.XmlRoot;
+
+@XmlRoot(name = "Primitive")
+public class PrimitiveRecord {
+
+	@XmlElement(name = "i1")
+	private int i1;
+
+	@XmlElement(name = "i2")
+	private int i2;
+
+	@XmlElement(name = "l1")
+	private long l1;
+
+	@XmlElement(name = "l2")
+	private long l2;
+
+	@XmlElement(name = "d1")
+	private double d1;
+
+	@XmlElement(name = "d2")
+	private double d2;
+
+	@XmlElement(name = "f1")
+	private float f1;
+
+	@XmlElement(name = "b1")
+	private boolean b1;
+
+}
@@ -0,0 +1,33 @@
+package putko.parser.benchmark.model;
+
+import putko.parser.annotation.XmlElement;
+import putko.parser.annotation.XmlRoot;
+
+@XmlRoot(name = "Strings")
+public class StringRecord {
+
+	@XmlElement(name = "s1")
+	private String s1;
+
+	@XmlElement(name = "s2")
+	private String s2;
+
+	@XmlElement(name = "s3")
+	private String s3;
+
+	@XmlElement(name = "s4")
+	private String s4;
+
+	@XmlElement(name = "s5")
+	private String s5;
+
+	@XmlElement(name = "s6")
+	private String s6;
+
+	@XmlElement(name = "s7")
+	private String s7;
+
+	@XmlElement(name = "s8")
+	private String s8;
+
+}
@@ -0,0 +1,18 @@
+package putko.parser.benchmark.model;
+
+import putko.parser.annotation.XmlElement;
+import putko.parser.annotation.XmlRoot;
+
+@XmlRoot(name = "node")
+public class TreeNode {
+
+	@XmlElement(name = "value")
+	private int value;
+
+	@XmlElement(name = "label")
+	private String label;
+
+	@XmlElement(name = "node")
+	private TreeNode child;
+
+}
@@ -0,0 +1,41 @@
+package putko.parser.benchmark.model;
+
+import putko.parser.annotation.XmlElement;
+import putko.parser.annotation.XmlRoot;
+import putko.parser.validation.Valid;
+
+@XmlRoot(name = "Primitive")
+public class ValidatedRecord {
+
+	@XmlElement(name = "i1")
+	@Valid({ PositiveValidator.class })
+	private int i1;
+
+	@XmlElement(name = "i2")
+	@Valid({ PositiveValidator.class })
+	private int i2;
+
+	@XmlElement(name = "l1")
+	@Valid({ PositiveValidator.class })
+	private long l1;
+
+	@XmlElement(name = "l2")
+	@Valid({ PositiveValidator.class })
+	private long l2;
+
+	@XmlElement(name = "d1")
+	@Valid({ PositiveValidator.class })
+	private double d1;
+
+	@XmlElement(name = "d2")
+	@Valid({ PositiveValidator.class })
+	private double d2;
+
+	@XmlElement(name = "f1")
+	@Valid({ PositiveValidator.class })
+	private float f1;
+
+	@XmlElement(name = "b1")
+	private boolean b1;
+
+}
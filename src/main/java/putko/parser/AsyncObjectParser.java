@@ -0,0 +1,254 @@
+package putko.parser;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Asynchronous front end of an {@link ObjectParser} for many small documents
+ * parsed at the same time. Admission is checked when a parse is submitted: it
+ * is rejected with a {@link RejectedExecutionException} when the maximum
+ * number of parses or bytes in flight would be exceeded, instead of queueing.
+ * A document larger than the byte budget is still admitted when nothing else
+ * is in flight. Timed out parses complete with a {@link TimeoutException} and
+ * their thread is interrupted; their permits are released once the parse
+ * actually stops.
+ */
+public class AsyncObjectParser implements AutoCloseable {
+
+	private final ObjectParser parser;
+	private final Executor executor;
+	private final ExecutorService ownedExecutor;
+	private final int maxParsesInFlight;
+	private final long maxBytesInFlight;
+	private final Duration timeout;
+	private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("xml-parser-timeout"));
+	private final AtomicInteger parsesInFlight = new AtomicInteger();
+	private final AtomicLong bytesInFlight = new AtomicLong();
+
+	public AsyncObjectParser(ObjectParser parser) {
+		this(parser, new AsyncOptions());
+	}
+
+	public AsyncObjectParser(ObjectParser parser, AsyncOptions options) {
+		this.parser = parser;
+		this.ownedExecutor = options.getExecutor() == null ? defaultExecutor() : null;
+		this.executor = ownedExecutor == null ? options.getExecutor() : ownedExecutor;
+		this.maxParsesInFlight = options.getMaxParsesInFlight();
+		this.maxBytesInFlight = options.getMaxBytesInFlight();
+		this.timeout = options.getTimeout();
+	}
+
+	/**
+	 * Parses a stream of unknown length. Its bytes are charged to the byte
+	 * budget as they are read, and the parse fails with a
+	 * {@link RejectedExecutionException} once they would exceed it.
+	 */
+	public <T> CompletableFuture<T> readObjectAsync(InputStream source, Class<T> objectType) {
+		return readObjectAsync(source, objectType, timeout);
+	}
+
+	public <T> CompletableFuture<T> readObjectAsync(InputStream source, Class<T> objectType, Duration timeout) {
+		return readObjectAsync(source, 0, objectType, timeout);
+	}
+
+	/**
+	 * Parses a stream whose length is announced up front, e.g. from a
+	 * Content-Length header. The length is charged at admission; bytes read
+	 * beyond it are charged as they arrive, like for a stream of unknown length.
+	 */
+	public <T> CompletableFuture<T> readObjectAsync(InputStream source, long length, Class<T> objectType, Duration timeout) {
+		BudgetedInputStream budgeted = new BudgetedInputStream(source, length);
+		return submit(length, timeout, budgeted, () -> parser.readObject(budgeted, objectType));
+	}
+
+	public <T> CompletableFuture<T> readObjectAsync(ByteBuffer source, Class<T> objectType) {
+		return readObjectAsync(source, objectType, timeout);
+	}
+
+	public <T> CompletableFuture<T> readObjectAsync(ByteBuffer source, Class<T> objectType, Duration timeout) {
+		return submit(source.remaining(), timeout, null, () -> parser.readObject(source, objectType));
+	}
+
+	public int getParsesInFlight() {
+		return parsesInFlight.get();
+	}
+
+	public long getBytesInFlight() {
+		return bytesInFlight.get();
+	}
+
+	@Override
+	public void close() {
+		timer.shutdownNow();
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdown();
+		}
+	}
+
+	private <T> CompletableFuture<T> submit(long length, Duration timeout, BudgetedInputStream budgeted, Parse<T> parse) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		if (!admit(length)) {
+			future.completeExceptionally(new RejectedExecutionException("Too many parses in flight: " + parsesInFlight.get()
+					+ " parses, " + bytesInFlight.get() + " bytes"));
+			return future;
+		}
+		AtomicReference<Thread> worker = new AtomicReference<>();
+		ScheduledFuture<?> timeoutTask = timeout == null ? null : timer.schedule(() -> {
+			if (future.completeExceptionally(new TimeoutException("Parse did not finish within " + timeout))) {
+				synchronized (worker) {
+					Thread thread = worker.get();
+					if (thread != null) {
+						thread.interrupt();
+					}
+				}
+			}
+		}, timeout.toNanos(), TimeUnit.NANOSECONDS);
+		try {
+			executor.execute(() -> {
+				worker.set(Thread.currentThread());
+				T result = null;
+				Throwable error = null;
+				try {
+					if (!future.isDone()) {
+						result = parse.parse();
+					}
+				} catch (Throwable e) {
+					error = budgeted != null && budgeted.exceeded ? new RejectedExecutionException("Too many bytes in flight: "
+							+ budgeted.read + " bytes read by this parse") : e;
+				} finally {
+					synchronized (worker) {
+						worker.set(null);
+						Thread.interrupted();
+					}
+					if (timeoutTask != null) {
+						timeoutTask.cancel(false);
+					}
+					release(length + (budgeted == null ? 0 : budgeted.charged));
+				}
+				if (error != null) {
+					future.completeExceptionally(error);
+				} else {
+					future.complete(result);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			release(length);
+			if (timeoutTask != null) {
+				timeoutTask.cancel(false);
+			}
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	private boolean admit(long length) {
+		if (parsesInFlight.incrementAndGet() > maxParsesInFlight) {
+			parsesInFlight.decrementAndGet();
+			return false;
+		}
+		long bytes = bytesInFlight.addAndGet(length);
+		if (bytes > maxBytesInFlight && bytes != length) {
+			release(length);
+			return false;
+		}
+		return true;
+	}
+
+	private void release(long length) {
+		bytesInFlight.addAndGet(-length);
+		parsesInFlight.decrementAndGet();
+	}
+
+	/**
+	 * Virtual threads when running on JDK 21+, looked up reflectively since the
+	 * library is compiled for Java 8.
+	 */
+	private static ExecutorService defaultExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return Executors.newCachedThreadPool(daemonThreads("xml-parser-async"));
+		}
+	}
+
+	private static ThreadFactory daemonThreads(String name) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Charges the bytes read beyond the length admitted up front to the byte
+	 * budget. Like at admission, a parse alone in flight may exceed it.
+	 */
+	private final class BudgetedInputStream extends FilterInputStream {
+
+		private final long admitted;
+		private long read;
+		private long charged;
+		private boolean exceeded;
+
+		private BudgetedInputStream(InputStream source, long admitted) {
+			super(source);
+			this.admitted = admitted;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				charge(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int count = super.read(b, off, len);
+			if (count > 0) {
+				charge(count);
+			}
+			return count;
+		}
+
+		private void charge(int count) throws IOException {
+			read += count;
+			long excess = read - admitted - charged;
+			if (excess <= 0) {
+				return;
+			}
+			charged += excess;
+			long bytes = bytesInFlight.addAndGet(excess);
+			if (bytes > maxBytesInFlight && bytes != admitted + charged) {
+				exceeded = true;
+				throw new IOException("Byte budget of " + maxBytesInFlight + " exceeded");
+			}
+		}
+
+	}
+
+	@FunctionalInterface
+	private interface Parse<T> {
+		T parse() throws Exception;
+	}
+
+}
@@ -0,0 +1,30 @@
+package putko.parser;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import lombok.Getter;
+import lombok.Setter;
+
+public class AsyncOptions {
+
+	/**
+	 * Executor running the parses; when {@code null} virtual threads are used
+	 * on JDK 21+ and a cached pool of daemon threads otherwise.
+	 */
+	@Setter @Getter
+	private Executor executor;
+	
+	@Setter @Getter
+	private int maxParsesInFlight = 1024;
+	
+	@Setter @Getter
+	private long maxBytesInFlight = 64L * 1024 * 1024;
+	
+	/**
+	 * Default timeout of a parse, {@code null} for none.
+	 */
+	@Setter @Getter
+	private Duration timeout;
+	
+}
@@ -0,0 +1,200 @@
+package putko.parser;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+import putko.parser.access.GeneratedBinder;
+import putko.parser.exeptions.NotAllowedTypeException;
+import putko.parser.io.NameTable;
+
+@ToString
+public final class BindingPlan {
+
+	@Getter
+	private final Class<?> type;
+	
+	@Getter
+	private final Map<String, ElementDescription> elements;
+	
+	@Getter
+	private final Map<String, ElementDescription> attributes;
+	
+	@Getter
+	private final GeneratedBinder<?> binder;
+	
+	/**
+	 * Description of the root element; kept apart from the elements, which may
+	 * use the same name for a nested element.
+	 */
+	@Getter
+	private final ElementDescription root;
+	
+	@Getter
+	private final String rootName;
+	
+	private final ElementDescription[] fieldElements;
+	
+	private final ElementDescription[] collectionElements;
+	
+	private final ElementDescription[] childElements;
+	
+	private final ElementDescription[] attributeElements;
+	
+	private final String discriminator;
+	
+	private final Map<String, Class<?>> subtypes = new LinkedHashMap<>();
+	
+	private final Map<Class<?>, String> subtypeNames = new HashMap<>();
+	
+	private volatile NameTable nameTable;
+	
+	private volatile Class<?> baseType;
+	
+	BindingPlan(Class<?> type, ElementDescription root, Map<String, ElementDescription> elements, Map<String, ElementDescription> attributes,
+			GeneratedBinder<?> binder, String discriminator, Map<String, Class<?>> subtypes) {
+		this.type = type;
+		this.elements = Collections.unmodifiableMap(elements);
+		this.attributes = Collections.unmodifiableMap(attributes);
+		this.binder = binder;
+		this.attributeElements = attributes.values().toArray(new ElementDescription[attributes.size()]);
+		this.root = root;
+		this.rootName = root.getName();
+		this.fieldElements = elements.values().stream().filter(element -> element.getType() == ValueType.ELEMENT && !element.isSubtype())
+				.toArray(ElementDescription[]::new);
+		this.collectionElements = new ElementDescription[Arrays.stream(fieldElements).filter(element -> element.getCollection() != null)
+				.mapToInt(element -> element.getCollectionIndex() + 1).max().orElse(0)];
+		this.childElements = new ElementDescription[Arrays.stream(fieldElements).filter(BindingPlan::isChild)
+				.mapToInt(element -> element.getCollectionIndex() + 1).max().orElse(0)];
+		for (ElementDescription element : fieldElements) {
+			if (element.getCollection() != null) {
+				collectionElements[element.getCollectionIndex()] = element;
+			} else if (isChild(element)) {
+				childElements[element.getCollectionIndex()] = element;
+			}
+		}
+		this.discriminator = discriminator;
+		this.subtypes.putAll(subtypes);
+		subtypes.forEach((name, subtype) -> this.subtypeNames.put(subtype, name));
+	}
+	
+	public ElementDescription getElement(String name) {
+		return elements.get(name);
+	}
+	
+	public ElementDescription getAttribute(String name) {
+		return attributes.get(name);
+	}
+	
+	/**
+	 * @return the attributes in declaration order
+	 */
+	ElementDescription[] getAttributeElements() {
+		return attributeElements;
+	}
+	
+	/**
+	 * @return the field elements in declaration order
+	 */
+	ElementDescription[] getFieldElements() {
+		return fieldElements;
+	}
+	
+	/**
+	 * @return the repeated elements indexed by
+	 *         {@link ElementDescription#getCollectionIndex()}
+	 */
+	ElementDescription[] getCollectionElements() {
+		return collectionElements;
+	}
+	
+	/**
+	 * @return the single nested objects indexed by
+	 *         {@link ElementDescription#getCollectionIndex()}
+	 */
+	ElementDescription[] getChildElements() {
+		return childElements;
+	}
+	
+	boolean isPolymorphic() {
+		return !subtypes.isEmpty();
+	}
+	
+	/**
+	 * @return the discriminator attribute, or {@code null} when subtypes are
+	 *         picked by element name
+	 */
+	String getDiscriminator() {
+		return discriminator;
+	}
+	
+	/**
+	 * @param name
+	 *            element name or discriminator value
+	 * @return the subtype registered under the name, or {@code null}
+	 */
+	Class<?> getSubtype(String name) {
+		return subtypes.get(name);
+	}
+	
+	String getSubtypeName(Class<?> subtype) {
+		return subtypeNames.get(subtype);
+	}
+	
+	Collection<Class<?>> getSubtypes() {
+		return subtypes.values();
+	}
+	
+	/**
+	 * @return the subtypes by element name or discriminator value
+	 */
+	Map<String, Class<?>> getSubtypesByName() {
+		return Collections.unmodifiableMap(subtypes);
+	}
+	
+	/**
+	 * @return the names of the documents of this root type, for
+	 *         {@link putko.parser.io.CompiledXmlReader}
+	 */
+	NameTable getNameTable() {
+		return nameTable;
+	}
+	
+	void setNameTable(NameTable nameTable) {
+		this.nameTable = nameTable;
+	}
+	
+	/**
+	 * @return the type declaring this type in its {@code XmlSubtypes}, this
+	 *         type when there is none, or {@code null} before it is looked up
+	 */
+	Class<?> getBaseType() {
+		return baseType;
+	}
+	
+	void setBaseType(Class<?> baseType) {
+		this.baseType = baseType;
+	}
+	
+	private static boolean isChild(ElementDescription element) {
+		return element.getCollection() == null && !element.isSimpleValue();
+	}
+	
+	Object newInstance(String elementName) throws NotAllowedTypeException {
+		Object instance = binder == null ? null : binder.newInstance();
+		if (instance != null) {
+			return instance;
+		}
+		try {
+			return type.newInstance();
+		} catch (Exception e) {
+			throw new NotAllowedTypeException(elementName, type);
+		}
+	}
+	
+}
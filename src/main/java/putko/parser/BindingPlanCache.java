@@ -0,0 +1,101 @@
+package putko.parser;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+import putko.parser.exeptions.ParserException;
+
+/**
+ * Thread-safe, bounded cache of {@link BindingPlan}s keyed by class. When the
+ * cache is full the oldest plan is evicted.
+ */
+public class BindingPlanCache {
+
+	private final ConcurrentMap<Class<?>, BindingPlan> plans = new ConcurrentHashMap<>();
+	private final Queue<Class<?>> insertionOrder = new ConcurrentLinkedQueue<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final AtomicLong generation = new AtomicLong();
+
+	@Getter
+	private final int maximumSize;
+
+	public BindingPlanCache(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Binding plan cache size must be positive: " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+	}
+
+	public BindingPlan get(Class<?> type, PlanLoader loader) throws ParserException {
+		BindingPlan plan = plans.get(type);
+		if (plan != null) {
+			hits.increment();
+			return plan;
+		}
+		misses.increment();
+		plan = loader.load(type);
+		BindingPlan previous = plans.putIfAbsent(type, plan);
+		if (previous != null) {
+			return previous;
+		}
+		insertionOrder.add(type);
+		while (plans.size() > maximumSize) {
+			Class<?> eldest = insertionOrder.poll();
+			if (eldest == null) {
+				break;
+			}
+			if (plans.remove(eldest) != null) {
+				evictions.increment();
+				generation.incrementAndGet();
+			}
+		}
+		return plan;
+	}
+
+	public boolean contains(Class<?> type) {
+		return plans.containsKey(type);
+	}
+
+	public int size() {
+		return plans.size();
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	public void clear() {
+		plans.clear();
+		insertionOrder.clear();
+		generation.incrementAndGet();
+	}
+
+	/**
+	 * @return a counter changed whenever plans leave the cache, so plans linked
+	 *         from elements of other plans can be checked for being current
+	 */
+	long getGeneration() {
+		return generation.get();
+	}
+
+	@FunctionalInterface
+	public interface PlanLoader {
+		BindingPlan load(Class<?> type) throws ParserException;
+	}
+
+}
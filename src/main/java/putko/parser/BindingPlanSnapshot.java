@@ -0,0 +1,250 @@
+package putko.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import putko.parser.access.GeneratedBinder;
+import putko.parser.annotation.XmlAttribute;
+import putko.parser.annotation.XmlElement;
+import putko.parser.validation.Validator;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Binary form of resolved binding plans: names, fields, value types,
+ * converters and validators of every element and attribute. Reading a
+ * snapshot skips the annotation processing of every class; only fields,
+ * accessors and validators are looked up again. Each class is stored with a
+ * hash of its class file, and of the class files of its superclasses, and is
+ * left out when the class has changed since.
+ */
+final class BindingPlanSnapshot {
+
+	private static final int MAGIC = 0x58504C4E;
+	private static final byte VERSION = 1;
+	private static final Map<String, Class<?>> PRIMITIVES = ImmutableMap.<String, Class<?>> builder().put("int", int.class)
+			.put("long", long.class).put("double", double.class).put("float", float.class).put("boolean", boolean.class)
+			.put("byte", byte.class).put("char", char.class).put("short", short.class).build();
+
+	private BindingPlanSnapshot() {
+	}
+
+	static void write(XmlParser parser, Collection<BindingPlan> plans, OutputStream target) throws IOException {
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeBoolean(parser.getConfiguration().isIgnoreNotAnnotatedElements());
+		out.writeInt(plans.size());
+		for (BindingPlan plan : plans) {
+			out.writeUTF(plan.getType().getName());
+			out.writeLong(structureHash(plan.getType()));
+			out.writeBoolean(plan.getBinder() != null);
+			out.writeUTF(plan.getRootName());
+			out.writeUTF(plan.getDiscriminator() == null ? "" : plan.getDiscriminator());
+			out.writeInt(plan.getSubtypesByName().size());
+			for (Map.Entry<String, Class<?>> subtype : plan.getSubtypesByName().entrySet()) {
+				out.writeUTF(subtype.getKey());
+				out.writeUTF(subtype.getValue().getName());
+			}
+			List<ElementDescription> fields = new ArrayList<>(plan.getElements().values());
+			fields.addAll(plan.getAttributes().values());
+			out.writeInt(fields.size());
+			for (ElementDescription element : fields) {
+				writeElement(element, out);
+			}
+		}
+		out.flush();
+	}
+
+	private static void writeElement(ElementDescription element, DataOutputStream out) throws IOException {
+		out.writeByte(element.getType().ordinal());
+		out.writeUTF(element.getName());
+		out.writeUTF(element.getField().getDeclaringClass().getName());
+		out.writeUTF(element.getFieldName());
+		out.writeUTF(element.getGenericType().getName());
+		out.writeByte(element.getCollection() == null ? -1 : element.getCollection().ordinal());
+		out.writeInt(element.getCollectionIndex());
+		out.writeInt(element.getExpectedSize());
+		out.writeBoolean(intern(element));
+		out.writeBoolean(element.isSubtype());
+		out.writeInt(element.getValidators().size());
+		for (Class<? extends Validator<?>> validator : element.getValidators()) {
+			out.writeUTF(validator.getName());
+		}
+	}
+
+	/**
+	 * @return the {@code intern} flag of the field annotation; whether all
+	 *         strings are pooled is left to the configuration of the reading
+	 *         parser
+	 */
+	private static boolean intern(ElementDescription element) {
+		Field field = element.getField();
+		if (element.getType() == ValueType.ATTRIBUTE) {
+			return field.getAnnotation(XmlAttribute.class).intern();
+		}
+		return field.getAnnotation(XmlElement.class).intern();
+	}
+
+	/**
+	 * @return the plans of the snapshot whose classes are unchanged; none when
+	 *         the snapshot was written with another
+	 *         {@code ignoreNotAnnotatedElements} setting
+	 */
+	static List<BindingPlan> read(XmlParser parser, InputStream source) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+		if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+			throw new IOException("Not a binding plan snapshot");
+		}
+		boolean accept = in.readBoolean() == parser.getConfiguration().isIgnoreNotAnnotatedElements();
+		int count = in.readInt();
+		List<BindingPlan> plans = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			BindingPlan plan = readPlan(parser, in, accept);
+			if (plan != null) {
+				plans.add(plan);
+			}
+		}
+		return plans;
+	}
+
+	private static BindingPlan readPlan(XmlParser parser, DataInputStream in, boolean accept) throws IOException {
+		String typeName = in.readUTF();
+		long hash = in.readLong();
+		boolean generated = in.readBoolean();
+		String rootName = in.readUTF();
+		String discriminator = in.readUTF();
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		Class<?> type = accept ? load(typeName, loader != null ? loader : BindingPlanSnapshot.class.getClassLoader()) : null;
+		boolean valid = type != null && structureHash(type) == hash;
+		GeneratedBinder<?> binder = valid && generated ? XmlParser.findGeneratedBinder(type) : null;
+		valid = valid && generated == (binder != null);
+		Map<String, Class<?>> subtypes = Maps.newLinkedHashMap();
+		for (int i = in.readInt(); i > 0; i--) {
+			String name = in.readUTF();
+			String subtypeName = in.readUTF();
+			Class<?> subtype = valid ? load(subtypeName, type.getClassLoader()) : null;
+			valid = valid && subtype != null;
+			subtypes.put(name, subtype);
+		}
+		Map<String, ElementDescription> elements = Maps.newLinkedHashMap();
+		Map<String, ElementDescription> attributes = Maps.newLinkedHashMap();
+		for (int i = in.readInt(); i > 0; i--) {
+			ElementDescription element = readElement(parser, in, valid ? type : null, binder);
+			valid = valid && element != null;
+			if (valid) {
+				(element.getType() == ValueType.ATTRIBUTE ? attributes : elements).put(element.getName(), element);
+			}
+		}
+		return valid ? new BindingPlan(type, XmlParser.describeRoot(type, rootName), elements, attributes, binder, discriminator.isEmpty() ? null : discriminator, subtypes) : null;
+	}
+
+	/**
+	 * @return the element, or {@code null} when the plan is rejected or its
+	 *         field or types cannot be resolved
+	 */
+	@SuppressWarnings("unchecked")
+	private static ElementDescription readElement(XmlParser parser, DataInputStream in, Class<?> type, GeneratedBinder<?> binder)
+			throws IOException {
+		ValueType kind = ValueType.values()[in.readByte()];
+		String name = in.readUTF();
+		String declaringClass = in.readUTF();
+		String fieldName = in.readUTF();
+		String valueTypeName = in.readUTF();
+		byte collection = in.readByte();
+		int collectionIndex = in.readInt();
+		int expectedSize = in.readInt();
+		boolean intern = in.readBoolean();
+		boolean subtype = in.readBoolean();
+		List<String> validatorNames = new ArrayList<>();
+		for (int i = in.readInt(); i > 0; i--) {
+			validatorNames.add(in.readUTF());
+		}
+		if (type == null) {
+			return null;
+		}
+		ClassLoader loader = type.getClassLoader();
+		Class<?> declaring = load(declaringClass, loader);
+		Class<?> valueType = load(valueTypeName, loader);
+		if (declaring == null || valueType == null) {
+			return null;
+		}
+		List<Class<? extends Validator<?>>> validators = new ArrayList<>(validatorNames.size());
+		for (String validatorName : validatorNames) {
+			Class<?> validator = load(validatorName, loader);
+			if (validator == null) {
+				return null;
+			}
+			validators.add((Class<? extends Validator<?>>) validator);
+		}
+		Field field;
+		try {
+			field = declaring.getDeclaredField(fieldName);
+		} catch (NoSuchFieldException e) {
+			return null;
+		}
+		return parser.describe(field, name, kind, valueType, intern, validators, declaring == type ? binder : null)
+				.collection(collection < 0 ? null : CollectionType.values()[collection])
+				.collectionIndex(collectionIndex)
+				.expectedSize(expectedSize)
+				.subtype(subtype)
+				.build();
+	}
+
+	private static Class<?> load(String name, ClassLoader loader) {
+		Class<?> primitive = PRIMITIVES.get(name);
+		if (primitive != null || loader == null) {
+			return primitive;
+		}
+		try {
+			return Class.forName(name, false, loader);
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Hashes the class files of the type and its superclasses. Classes without
+	 * a class file resource are hashed by their declared annotations and fields.
+	 */
+	private static long structureHash(Class<?> type) throws IOException {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			String name = current.getName();
+			try (InputStream classFile = current.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+				if (classFile != null) {
+					hasher.putBytes(ByteStreams.toByteArray(classFile));
+					continue;
+				}
+			}
+			hasher.putString(name, StandardCharsets.UTF_8);
+			for (Annotation annotation : current.getDeclaredAnnotations()) {
+				hasher.putString(annotation.toString(), StandardCharsets.UTF_8);
+			}
+			for (Field field : current.getDeclaredFields()) {
+				hasher.putString(field.toGenericString(), StandardCharsets.UTF_8);
+				for (Annotation annotation : field.getDeclaredAnnotations()) {
+					hasher.putString(annotation.toString(), StandardCharsets.UTF_8);
+				}
+			}
+		}
+		return hasher.hash().asLong();
+	}
+
+}
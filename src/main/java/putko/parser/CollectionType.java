@@ -0,0 +1,9 @@
+package putko.parser;
+
+public enum CollectionType {
+
+	LIST,
+	ARRAY,
+	PRIMITIVE_ARRAY
+	
+}
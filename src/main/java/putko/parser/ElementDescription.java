@@ -1,27 +1,104 @@
 package putko.parser;
 
-import java.util.Set;
+import java.lang.reflect.Field;
+import java.util.List;
 
 import lombok.Builder;
 import lombok.Getter;
-import lombok.Setter;
 import lombok.ToString;
+import putko.parser.access.FieldAccessor;
+import putko.parser.convert.TypeConverter;
 import putko.parser.validation.Validator;
 
-@ToString
+@ToString(exclude = "childPlan")
 @Builder
 public class ElementDescription {
 
-	@Getter @Setter
-	private String fieldName;
+	@Getter
+	private final String name;
 	
-	@Getter @Setter
-	private ValueType type;
+	@Getter
+	private final String fieldName;
 	
-	@Getter @Setter
-	private Class<?> genericType;
+	@Getter
+	private final ValueType type;
 	
-	@Getter @Setter
-	private Set<Class<? extends Validator<?>>> validators;
+	@Getter
+	private final Class<?> genericType;
+	
+	@Getter
+	private final Field field;
+	
+	@Getter
+	private final FieldAccessor accessor;
+	
+	@Getter
+	private final TypeConverter<?> converter;
+	
+	@Getter
+	private final AllowedPrimitiveTypes primitiveType;
+	
+	@Getter
+	private final List<Class<? extends Validator<?>>> validators;
+	
+	/**
+	 * Instances of {@link #getValidators()}, resolved when the plan is created.
+	 */
+	@Getter
+	private final Validator<Object>[] validatorInstances;
+	
+	/**
+	 * Set for repeated elements, whose {@link #getGenericType() generic type} is
+	 * then the component type.
+	 */
+	@Getter
+	private final CollectionType collection;
+	
+	@Getter
+	private final int collectionIndex;
+	
+	@Getter
+	private final int expectedSize;
+	
+	/**
+	 * Set on the entries a field of a polymorphic type gets under the element
+	 * names of its subtypes; they share the field of the declared element.
+	 */
+	@Getter
+	private final boolean subtype;
+	
+	private volatile ChildPlan childPlan;
+	
+	/**
+	 * @return the plan of the nested type when it was linked in the given
+	 *         {@link BindingPlanCache#getGeneration() generation} of the cache,
+	 *         otherwise {@code null}
+	 */
+	BindingPlan getChildPlan(long generation) {
+		ChildPlan link = childPlan;
+		return link != null && link.generation == generation ? link.plan : null;
+	}
+	
+	void setChildPlan(BindingPlan plan, long generation) {
+		this.childPlan = new ChildPlan(plan, generation);
+	}
+	
+	public boolean hasValidators() {
+		return validators != null && !validators.isEmpty();
+	}
+	
+	public boolean isSimpleValue() {
+		return genericType.isPrimitive() || converter != null;
+	}
+	
+	private static final class ChildPlan {
+		private final BindingPlan plan;
+		private final long generation;
+		
+		private ChildPlan(BindingPlan plan, long generation) {
+			this.plan = plan;
+			this.generation = generation;
+		}
+	}
 	
 }
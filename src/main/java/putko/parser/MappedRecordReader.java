@@ -0,0 +1,219 @@
+package putko.parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLStreamException;
+
+import putko.parser.exeptions.ParserException;
+import putko.parser.io.RecordScanner;
+import putko.parser.validation.ValidationException;
+
+/**
+ * Reads a file in memory-mapped segments. Split points are found in parallel by
+ * searching every segment for the first start tag of the record element; each
+ * segment is then scanned and bound on its own thread, records being bound
+ * straight from the mapping. Segments without a start tag are merged with the
+ * one before, so a segment can exceed what a single mapping holds; it is then
+ * mapped in windows, each starting at the record in progress at the end of
+ * the previous one. A record that does not fit in a window, or a segment that
+ * does not end on a record boundary, for example because the split point was
+ * inside a comment, fails the read.
+ * At most {@link ParallelOptions#getQueueCapacity()} bound records are queued
+ * per segment (for all segments when unordered).
+ */
+class MappedRecordReader<T> {
+
+	private final CompletableFuture<T> end = new CompletableFuture<>();
+	private final String recordElement;
+	private final byte[] startTag;
+	private final ParallelOptions options;
+	private final ParallelRecordReader.ChunkBinder<T> binder;
+	private final int maxWindow;
+	private volatile boolean cancelled;
+
+	MappedRecordReader(String recordElement, ParallelOptions options, ParallelRecordReader.ChunkBinder<T> binder) {
+		this(recordElement, options, binder, Integer.MAX_VALUE);
+	}
+
+	MappedRecordReader(String recordElement, ParallelOptions options, ParallelRecordReader.ChunkBinder<T> binder, int maxWindow) {
+		if (options.getParallelism() <= 0 || options.getQueueCapacity() <= 0) {
+			throw new IllegalArgumentException("Parallelism and queue capacity must be positive");
+		}
+		if (options.getSegmentSize() <= 0 || options.getSegmentSize() > Integer.MAX_VALUE / 2) {
+			throw new IllegalArgumentException("Segment size must be positive and at most " + Integer.MAX_VALUE / 2);
+		}
+		this.recordElement = recordElement;
+		this.startTag = ("<" + recordElement).getBytes(StandardCharsets.UTF_8);
+		this.options = options;
+		this.binder = binder;
+		this.maxWindow = maxWindow;
+	}
+
+	void read(Path source, Consumer<? super T> consumer) throws IOException, XMLStreamException, ParserException, ValidationException {
+		ExecutorService executor = Executors.newFixedThreadPool(options.getParallelism(), runnable -> {
+			Thread thread = new Thread(runnable, "xmlparser-segment");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+			List<Long> bounds = splitPoints(channel, executor);
+			int segments = bounds.size() - 1;
+			List<BlockingQueue<CompletableFuture<T>>> queues = new ArrayList<>();
+			for (int i = 0; i < (options.isOrdered() ? segments : 1); i++) {
+				queues.add(new LinkedBlockingQueue<>(options.getQueueCapacity()));
+			}
+			for (int i = 0; i < segments; i++) {
+				BlockingQueue<CompletableFuture<T>> queue = queues.get(options.isOrdered() ? i : 0);
+				long from = bounds.get(i);
+				long to = bounds.get(i + 1);
+				executor.execute(() -> bindSegment(channel, from, to, queue));
+			}
+			if (options.isOrdered()) {
+				for (BlockingQueue<CompletableFuture<T>> queue : queues) {
+					drain(queue, 1, consumer);
+				}
+			} else {
+				drain(queues.get(0), segments, consumer);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} finally {
+			cancelled = true;
+			executor.shutdownNow();
+		}
+	}
+
+	private void drain(BlockingQueue<CompletableFuture<T>> queue, int segments, Consumer<? super T> consumer) throws InterruptedException,
+			IOException, XMLStreamException, ParserException, ValidationException {
+		while (segments > 0) {
+			CompletableFuture<T> result = queue.take();
+			if (result == end) {
+				segments--;
+			} else {
+				consumer.accept(ParallelRecordReader.join(result));
+			}
+		}
+	}
+
+	/**
+	 * @return the offsets where segments start, followed by the file size
+	 */
+	private List<Long> splitPoints(FileChannel channel, ExecutorService executor) throws IOException, XMLStreamException,
+			ParserException, ValidationException {
+		long size = channel.size();
+		long segmentSize = options.getSegmentSize();
+		List<CompletableFuture<Long>> starts = new ArrayList<>();
+		for (long from = segmentSize; from < size; from += segmentSize) {
+			long start = from;
+			starts.add(CompletableFuture.supplyAsync(() -> findStartTag(channel, start, Math.min(size, start + segmentSize)), executor));
+		}
+		List<Long> bounds = new ArrayList<>();
+		bounds.add(0l);
+		try {
+			for (CompletableFuture<Long> start : starts) {
+				long value = ParallelRecordReader.join(start);
+				if (value >= 0) {
+					bounds.add(value);
+				}
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		bounds.add(size);
+		return bounds;
+	}
+
+	/**
+	 * @return the offset of the first record start tag beginning between
+	 *         {@code from} and {@code to}, or -1
+	 */
+	private long findStartTag(FileChannel channel, long from, long to) {
+		try {
+			ByteBuffer window = channel.map(MapMode.READ_ONLY, from, Math.min(channel.size(), to + startTag.length + 1) - from);
+			int limit = (int) (to - from);
+			for (int i = 0; i < limit; i++) {
+				if (window.get(i) == '<' && isStartTag(window, i)) {
+					return from + i;
+				}
+			}
+			return -1;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private boolean isStartTag(ByteBuffer window, int position) {
+		int end = position + startTag.length;
+		if (end >= window.limit()) {
+			return false;
+		}
+		for (int i = 1; i < startTag.length; i++) {
+			if (window.get(position + i) != startTag[i]) {
+				return false;
+			}
+		}
+		byte next = window.get(end);
+		return next == '>' || next == '/' || next == ' ' || next == '\t' || next == '\n' || next == '\r';
+	}
+
+	private void bindSegment(FileChannel channel, long from, long to, BlockingQueue<CompletableFuture<T>> queue) {
+		try {
+			RecordScanner scanner = new RecordScanner(recordElement);
+			for (long window = from; !cancelled && window < to;) {
+				int limit = (int) Math.min(to - window, maxWindow);
+				ByteBuffer segment = channel.map(MapMode.READ_ONLY, window, limit);
+				int position = 0;
+				while (!cancelled && scanner.scan(segment, position, limit)) {
+					ByteBuffer record = segment.duplicate();
+					record.limit(scanner.getRecordEnd()).position(scanner.getRecordStart());
+					queue.put(CompletableFuture.completedFuture(binder.bind(record.slice())));
+					position = scanner.getRecordEnd();
+				}
+				if (cancelled || scanner.getResumeFrom() == limit) {
+					window += limit;
+				} else if (window + limit == to) {
+					throw new XMLStreamException("Record or markup starting at byte " + (window + scanner.getResumeFrom())
+							+ " does not end before byte " + to);
+				} else if (scanner.getResumeFrom() == 0) {
+					throw new XMLStreamException("Record or markup starting at byte " + window + " is longer than " + maxWindow
+							+ " bytes and cannot be mapped");
+				} else {
+					window += scanner.getResumeFrom();
+				}
+			}
+		} catch (InterruptedException e) {
+			return;
+		} catch (IOException | XMLStreamException | ParserException | ValidationException | RuntimeException e) {
+			CompletableFuture<T> failure = new CompletableFuture<>();
+			failure.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+			offer(queue, failure);
+		}
+		offer(queue, end);
+	}
+
+	private void offer(BlockingQueue<CompletableFuture<T>> queue, CompletableFuture<T> result) {
+		try {
+			queue.put(result);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
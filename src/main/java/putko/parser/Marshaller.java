@@ -0,0 +1,273 @@
+package putko.parser;
+
+import java.lang.reflect.Array;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import putko.parser.access.FieldAccessor;
+import putko.parser.convert.TextConversions;
+import putko.parser.convert.TypeConverter;
+import putko.parser.convert.TypeConverters;
+import putko.parser.exeptions.NotAllowedTypeException;
+import putko.parser.exeptions.ParserException;
+
+/**
+ * Writes objects through the binding plans used for reading. Fields are
+ * written in declaration order after the attributes, repeated elements once
+ * per item, {@code null} fields are left out, and integer element values are
+ * formatted into a reused buffer instead of being boxed. Everything else is
+ * written through the field's converter.
+ */
+class Marshaller {
+
+	private final XmlParser parser;
+	private final XMLStreamWriter writer;
+	private final char[] digits = new char[20];
+
+	Marshaller(XmlParser parser, XMLStreamWriter writer) {
+		this.parser = parser;
+		this.writer = writer;
+	}
+
+	/**
+	 * Writes a root object. A subtype listed by a base type is written the way
+	 * the base type reads it, under its element name or under the root name of
+	 * the base type with the discriminator attribute.
+	 */
+	void write(Object object) throws XMLStreamException, ParserException {
+		BindingPlan plan = parser.getBindingPlan(object.getClass());
+		BindingPlan base = parser.getBasePlan(plan);
+		if (base == null) {
+			writeObject(plan.getRootName(), object, plan);
+			return;
+		}
+		String subtype = base.getSubtypeName(object.getClass());
+		if (base.getDiscriminator() == null) {
+			writeObject(subtype, object, plan);
+		} else {
+			writeObject(base.getRootName(), object, plan, base.getDiscriminator(), subtype);
+		}
+	}
+
+	private void writeObject(String name, Object object, BindingPlan plan) throws XMLStreamException, ParserException {
+		writeObject(name, object, plan, null, null);
+	}
+
+	private void writeObject(String name, Object object, BindingPlan plan, String discriminator, String subtype) throws XMLStreamException,
+			ParserException {
+		writer.writeStartElement(name);
+		if (discriminator != null) {
+			writer.writeAttribute(discriminator, subtype);
+		}
+		for (ElementDescription attribute : plan.getAttributeElements()) {
+			writeAttribute(attribute, object);
+		}
+		for (ElementDescription element : plan.getFieldElements()) {
+			if (element.getCollection() != null) {
+				writeCollection(element, element.getAccessor().get(object));
+			} else if (element.getGenericType().isPrimitive()) {
+				writePrimitive(element, object);
+			} else {
+				writeItem(element, element.getAccessor().get(object));
+			}
+		}
+		writer.writeEndElement();
+	}
+
+	private void writeAttribute(ElementDescription attribute, Object object) throws XMLStreamException, NotAllowedTypeException {
+		FieldAccessor accessor = attribute.getAccessor();
+		String value;
+		if (attribute.getPrimitiveType() != null && !isBuiltIn(attribute.getConverter())) {
+			value = toText(attribute, primitiveValue(attribute, object));
+		} else if (attribute.getPrimitiveType() != null) {
+			switch (attribute.getPrimitiveType()) {
+			case INT:
+				value = Integer.toString(accessor.getInt(object));
+				break;
+			case LONG:
+				value = Long.toString(accessor.getLong(object));
+				break;
+			case DOUBLE:
+				value = Double.toString(accessor.getDouble(object));
+				break;
+			case FLOAT:
+				value = Float.toString(accessor.getFloat(object));
+				break;
+			default:
+				value = accessor.getBoolean(object) ? "true" : "false";
+				break;
+			}
+		} else if (attribute.getConverter() != null) {
+			Object field = accessor.get(object);
+			if (field == null) {
+				return;
+			}
+			value = toText(attribute, field);
+		} else {
+			throw new NotAllowedTypeException(attribute.getFieldName(), attribute.getGenericType());
+		}
+		writer.writeAttribute(attribute.getName(), value);
+	}
+
+	private void writeCollection(ElementDescription element, Object collection) throws XMLStreamException, ParserException {
+		if (collection == null) {
+			return;
+		}
+		if (element.getCollection() == CollectionType.PRIMITIVE_ARRAY) {
+			writePrimitiveArray(element, collection);
+		} else if (element.getCollection() == CollectionType.ARRAY) {
+			for (Object item : (Object[]) collection) {
+				writeItem(element, item);
+			}
+		} else {
+			for (Object item : (Iterable<?>) collection) {
+				writeItem(element, item);
+			}
+		}
+	}
+
+	private void writeItem(ElementDescription element, Object value) throws XMLStreamException, ParserException {
+		if (value == null) {
+			return;
+		}
+		if (element.isSimpleValue()) {
+			writer.writeStartElement(element.getName());
+			writeValue(element, value);
+			writer.writeEndElement();
+		} else {
+			writeChild(element, value);
+		}
+	}
+
+	/**
+	 * Writes a nested object. Subtypes of a polymorphic type are written with
+	 * their own plan, under their element name or with the discriminator
+	 * attribute.
+	 */
+	private void writeChild(ElementDescription element, Object value) throws XMLStreamException, ParserException {
+		BindingPlan plan = parser.getChildPlan(element);
+		String subtype = plan.isPolymorphic() && value.getClass() != plan.getType() ? plan.getSubtypeName(value.getClass()) : null;
+		if (subtype == null) {
+			writeObject(element.getName(), value, plan);
+		} else if (plan.getDiscriminator() == null) {
+			writeObject(subtype, value, parser.getBindingPlan(value.getClass()));
+		} else {
+			writeObject(element.getName(), value, parser.getBindingPlan(value.getClass()), plan.getDiscriminator(), subtype);
+		}
+	}
+
+	private void writePrimitiveArray(ElementDescription element, Object array) throws XMLStreamException, NotAllowedTypeException {
+		if (element.getPrimitiveType() == null) {
+			throw new NotAllowedTypeException(element.getFieldName(), element.getGenericType());
+		}
+		int length = Array.getLength(array);
+		boolean builtIn = isBuiltIn(element.getConverter());
+		for (int i = 0; i < length; i++) {
+			writer.writeStartElement(element.getName());
+			if (!builtIn) {
+				writer.writeCharacters(toText(element, Array.get(array, i)));
+				writer.writeEndElement();
+				continue;
+			}
+			switch (element.getPrimitiveType()) {
+			case INT:
+				writeLong(((int[]) array)[i]);
+				break;
+			case LONG:
+				writeLong(((long[]) array)[i]);
+				break;
+			case DOUBLE:
+				writer.writeCharacters(Double.toString(((double[]) array)[i]));
+				break;
+			case FLOAT:
+				writer.writeCharacters(Float.toString(((float[]) array)[i]));
+				break;
+			case BOOLEAN:
+				writer.writeCharacters(((boolean[]) array)[i] ? "true" : "false");
+				break;
+			default:
+				break;
+			}
+			writer.writeEndElement();
+		}
+	}
+
+	private void writePrimitive(ElementDescription element, Object object) throws XMLStreamException, NotAllowedTypeException {
+		if (element.getPrimitiveType() == null) {
+			throw new NotAllowedTypeException(element.getFieldName(), element.getGenericType());
+		}
+		FieldAccessor accessor = element.getAccessor();
+		writer.writeStartElement(element.getName());
+		if (!isBuiltIn(element.getConverter())) {
+			writer.writeCharacters(toText(element, primitiveValue(element, object)));
+			writer.writeEndElement();
+			return;
+		}
+		switch (element.getPrimitiveType()) {
+		case INT:
+			writeLong(accessor.getInt(object));
+			break;
+		case LONG:
+			writeLong(accessor.getLong(object));
+			break;
+		case DOUBLE:
+			writer.writeCharacters(Double.toString(accessor.getDouble(object)));
+			break;
+		case FLOAT:
+			writer.writeCharacters(Float.toString(accessor.getFloat(object)));
+			break;
+		case BOOLEAN:
+			writer.writeCharacters(accessor.getBoolean(object) ? "true" : "false");
+			break;
+		default:
+			break;
+		}
+		writer.writeEndElement();
+	}
+
+	private void writeValue(ElementDescription element, Object value) throws XMLStreamException {
+		TypeConverter<?> converter = element.getConverter();
+		if (converter == TypeConverters.INT) {
+			writeLong((Integer) value);
+		} else if (converter == TypeConverters.LONG) {
+			writeLong((Long) value);
+		} else if (converter == TypeConverters.STRING) {
+			writer.writeCharacters((String) value);
+		} else {
+			writer.writeCharacters(toText(element, value));
+		}
+	}
+
+	private static boolean isBuiltIn(TypeConverter<?> converter) {
+		return converter == TypeConverters.INT || converter == TypeConverters.LONG || converter == TypeConverters.DOUBLE
+				|| converter == TypeConverters.FLOAT || converter == TypeConverters.BOOLEAN;
+	}
+
+	private static Object primitiveValue(ElementDescription element, Object object) {
+		FieldAccessor accessor = element.getAccessor();
+		switch (element.getPrimitiveType()) {
+		case INT:
+			return accessor.getInt(object);
+		case LONG:
+			return accessor.getLong(object);
+		case DOUBLE:
+			return accessor.getDouble(object);
+		case FLOAT:
+			return accessor.getFloat(object);
+		default:
+			return accessor.getBoolean(object);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static String toText(ElementDescription element, Object value) {
+		return ((TypeConverter) element.getConverter()).toText(value);
+	}
+
+	private void writeLong(long value) throws XMLStreamException {
+		int start = TextConversions.formatLong(value, digits);
+		writer.writeCharacters(digits, start, digits.length - start);
+	}
+
+}
@@ -1,10 +1,27 @@
 package putko.parser;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import javax.xml.stream.XMLStreamException;
 
 import lombok.Getter;
-import lombok.Setter;
+import putko.parser.access.AccessorStrategy;
+import putko.parser.convert.StringPool;
+import putko.parser.convert.TypeConverter;
+import putko.parser.convert.TypeConverters;
 import putko.parser.exeptions.ParserException;
+import putko.parser.metrics.ParserListener;
 import putko.parser.validation.ValidationException;
 
 @SuppressWarnings("restriction")
@@ -12,11 +29,249 @@ public interface ObjectParser {
 
 	public <T> T readObject(String source, Class<T> objectType) throws  XMLStreamException, ParserException, ValidationException;
 	
+	public <T> T readObject(InputStream source, Class<T> objectType) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readObject(Reader source, Class<T> objectType) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readObject(ByteBuffer source, Class<T> objectType) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readObject(Path source, Class<T> objectType) throws IOException, XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readObject(String source, Class<T> objectType, String path) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readObject(InputStream source, Class<T> objectType, String path) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readObject(Reader source, Class<T> objectType, String path) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readObject(ByteBuffer source, Class<T> objectType, String path) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readObject(Path source, Class<T> objectType, String path) throws IOException, XMLStreamException, ParserException,
+			ValidationException;
+	
+	public <T> T readInto(String source, T target) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readInto(InputStream source, T target) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readInto(Reader source, T target) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> T readInto(ByteBuffer source, T target) throws XMLStreamException, ParserException, ValidationException;
+	
+	public <T> Stream<T> readStream(InputStream source, String recordElement, Class<T> objectType) throws XMLStreamException;
+	
+	public <T> void readParallel(InputStream source, String recordElement, Class<T> objectType, ParallelOptions options,
+			Consumer<? super T> consumer) throws IOException, XMLStreamException, ParserException, ValidationException;
+	
+	/**
+	 * Maps the file in segments and binds the records of every segment on its
+	 * own thread, without copying them to the heap.
+	 */
+	public <T> void readParallel(Path source, String recordElement, Class<T> objectType, ParallelOptions options,
+			Consumer<? super T> consumer) throws IOException, XMLStreamException, ParserException, ValidationException;
+	
+	/**
+	 * @return a feeder binding the {@code @XmlRoot} elements of the type from
+	 *         input pushed in chunks
+	 */
+	public <T> XmlFeeder<T> newFeeder(Class<T> objectType, Consumer<? super T> consumer) throws ParserException;
+	
+	public <T> XmlFeeder<T> newFeeder(String recordElement, Class<T> objectType, Consumer<? super T> consumer);
+	
+	public <T> void writeObject(T object, OutputStream target) throws XMLStreamException, ParserException;
+	
+	public <T> void writeObject(T object, Writer target) throws XMLStreamException, ParserException;
+	
+	public <T> void writeStream(Stream<? extends T> records, String rootElement, OutputStream target) throws XMLStreamException, ParserException;
+	
+	public <T> void writeStream(Stream<? extends T> records, String rootElement, Writer target) throws XMLStreamException, ParserException;
+	
 	public Configuration getConfiguration();
 	
 	public static class Configuration{
-		@Setter @Getter
+		@Getter
 		private boolean ignoreNotAnnotatedElements = false;
+		@Getter
+		private int bindingPlanCacheSize = 256;
+		@Getter
+		private AccessorStrategy accessorStrategy = AccessorStrategy.METHOD_HANDLE;
+		@Getter
+		private boolean compiledReader = false;
+		@Getter
+		private TypeConverters converters = new TypeConverters();
+		private Map<Class<?>, ObjectPool<?>> pools = new HashMap<>();
+		@Getter
+		private boolean internStrings = false;
+		@Getter
+		private StringPool stringPool = new StringPool();
+		@Getter
+		private ParserListener listener;
+		@Getter
+		private Executor validationExecutor;
+		@Getter
+		private volatile boolean frozen;
+		
+		public static Builder builder() {
+			return new Builder();
+		}
+		
+		public void setIgnoreNotAnnotatedElements(boolean ignoreNotAnnotatedElements) {
+			checkNotFrozen();
+			this.ignoreNotAnnotatedElements = ignoreNotAnnotatedElements;
+		}
+		
+		public void setBindingPlanCacheSize(int bindingPlanCacheSize) {
+			checkNotFrozen();
+			this.bindingPlanCacheSize = bindingPlanCacheSize;
+		}
+		
+		public void setAccessorStrategy(AccessorStrategy accessorStrategy) {
+			checkNotFrozen();
+			this.accessorStrategy = accessorStrategy;
+		}
+		
+		/**
+		 * When set, UTF-8 documents read from a {@code ByteBuffer} go through
+		 * {@link putko.parser.io.CompiledXmlReader} instead of StAX. Documents it
+		 * does not support are read again with StAX.
+		 */
+		public void setCompiledReader(boolean compiledReader) {
+			checkNotFrozen();
+			this.compiledReader = compiledReader;
+		}
+		
+		/**
+		 * Registers a converter for fields of the given type; see
+		 * {@link TypeConverters#register(Class, TypeConverter)}.
+		 */
+		public <T> void registerConverter(Class<T> type, TypeConverter<? extends T> converter) {
+			checkNotFrozen();
+			converters.register(type, converter);
+		}
+		
+		/**
+		 * When set, all {@code String} fields are read through the string pool,
+		 * not only those marked with {@code intern = true}.
+		 */
+		public void setInternStrings(boolean internStrings) {
+			checkNotFrozen();
+			this.internStrings = internStrings;
+		}
+		
+		public void setStringPool(StringPool stringPool) {
+			checkNotFrozen();
+			this.stringPool = stringPool;
+		}
+		
+		/**
+		 * Nested objects of the given type are then taken from the pool instead of
+		 * being created, and released to it when a rebound graph drops them.
+		 */
+		public <T> void registerPool(Class<T> type, ObjectPool<T> pool) {
+			checkNotFrozen();
+			pools.put(type, pool);
+		}
+		
+		@SuppressWarnings("unchecked")
+		public <T> ObjectPool<T> getPool(Class<T> type) {
+			return (ObjectPool<T>) pools.get(type);
+		}
+		
+		boolean hasPools() {
+			return !pools.isEmpty();
+		}
+		
+		public void setListener(ParserListener listener) {
+			checkNotFrozen();
+			this.listener = listener;
+		}
+		
+		/**
+		 * When set, values are validated in batches on this executor while binding
+		 * goes on, and all failures of a document are thrown together as a
+		 * {@link putko.parser.validation.ValidationReport}.
+		 */
+		public void setValidationExecutor(Executor validationExecutor) {
+			checkNotFrozen();
+			this.validationExecutor = validationExecutor;
+		}
+		
+		void freeze() {
+			frozen = true;
+		}
+		
+		private void checkNotFrozen() {
+			if (frozen) {
+				throw new IllegalStateException("Configuration cannot be changed once the parser has been used");
+			}
+		}
+		
+		public static class Builder {
+			private final Configuration configuration = new Configuration();
+			
+			public Builder ignoreNotAnnotatedElements(boolean ignoreNotAnnotatedElements) {
+				configuration.setIgnoreNotAnnotatedElements(ignoreNotAnnotatedElements);
+				return this;
+			}
+			
+			public Builder bindingPlanCacheSize(int bindingPlanCacheSize) {
+				configuration.setBindingPlanCacheSize(bindingPlanCacheSize);
+				return this;
+			}
+			
+			public Builder accessorStrategy(AccessorStrategy accessorStrategy) {
+				configuration.setAccessorStrategy(accessorStrategy);
+				return this;
+			}
+			
+			public Builder compiledReader(boolean compiledReader) {
+				configuration.setCompiledReader(compiledReader);
+				return this;
+			}
+			
+			public <T> Builder converter(Class<T> type, TypeConverter<? extends T> converter) {
+				configuration.registerConverter(type, converter);
+				return this;
+			}
+			
+			public Builder internStrings(boolean internStrings) {
+				configuration.setInternStrings(internStrings);
+				return this;
+			}
+			
+			public Builder stringPool(StringPool stringPool) {
+				configuration.setStringPool(stringPool);
+				return this;
+			}
+			
+			public <T> Builder pool(Class<T> type, ObjectPool<T> pool) {
+				configuration.registerPool(type, pool);
+				return this;
+			}
+			
+			public Builder listener(ParserListener listener) {
+				configuration.setListener(listener);
+				return this;
+			}
+			
+			public Builder validationExecutor(Executor validationExecutor) {
+				configuration.setValidationExecutor(validationExecutor);
+				return this;
+			}
+			
+			public Configuration build() {
+				Configuration copy = new Configuration();
+				copy.ignoreNotAnnotatedElements = configuration.ignoreNotAnnotatedElements;
+				copy.bindingPlanCacheSize = configuration.bindingPlanCacheSize;
+				copy.accessorStrategy = configuration.accessorStrategy;
+				copy.compiledReader = configuration.compiledReader;
+				copy.converters = configuration.converters.copy();
+				copy.pools = new HashMap<>(configuration.pools);
+				copy.internStrings = configuration.internStrings;
+				copy.stringPool = configuration.stringPool;
+				copy.listener = configuration.listener;
+				copy.validationExecutor = configuration.validationExecutor;
+				return copy;
+			}
+		}
 	}
 	
 }
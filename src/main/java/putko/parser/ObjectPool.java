@@ -0,0 +1,19 @@
+package putko.parser;
+
+/**
+ * Source of reusable instances of one nested type. Objects taken from the pool
+ * are reset before they are bound, and objects dropped from a graph rebound
+ * with {@link ObjectParser#readInto(String, Object)} are released back to it.
+ * A parser is shared between threads, so implementations have to be
+ * thread-safe.
+ */
+public interface ObjectPool<T> {
+
+	/**
+	 * @return a pooled instance, or {@code null} to create a new one
+	 */
+	T acquire();
+
+	void release(T object);
+
+}
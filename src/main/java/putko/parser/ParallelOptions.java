@@ -0,0 +1,30 @@
+package putko.parser;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import lombok.Getter;
+import lombok.Setter;
+
+public class ParallelOptions {
+
+	@Setter @Getter
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	
+	@Setter @Getter
+	private int queueCapacity = 4 * Runtime.getRuntime().availableProcessors();
+	
+	@Setter @Getter
+	private boolean ordered = true;
+	
+	/**
+	 * Size of the segments a file is mapped and split in by
+	 * {@code readParallel(Path, ...)}.
+	 */
+	@Setter @Getter
+	private int segmentSize = 64 * 1024 * 1024;
+	
+	@Setter @Getter
+	private Charset charset = StandardCharsets.UTF_8;
+	
+}
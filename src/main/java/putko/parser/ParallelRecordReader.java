@@ -0,0 +1,189 @@
+package putko.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLStreamException;
+
+import putko.parser.exeptions.ParserException;
+import putko.parser.io.RecordScanner;
+import putko.parser.validation.ValidationException;
+
+/**
+ * Splits a document into record chunks on one thread and binds the chunks on a
+ * fork-join pool. At most {@link ParallelOptions#getQueueCapacity()} records are
+ * in flight; results are handed to the consumer on the calling thread.
+ */
+class ParallelRecordReader<T> {
+
+	private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+	private final CompletableFuture<T> end = new CompletableFuture<>();
+	private final String recordElement;
+	private final ParallelOptions options;
+	private final ChunkBinder<T> binder;
+	private final BlockingQueue<CompletableFuture<T>> results;
+	private final Semaphore permits;
+	private final AtomicInteger pending = new AtomicInteger();
+	private final AtomicBoolean endSignalled = new AtomicBoolean();
+	private volatile boolean splitterDone;
+	private volatile boolean cancelled;
+	private ForkJoinPool pool;
+
+	ParallelRecordReader(String recordElement, ParallelOptions options, ChunkBinder<T> binder) {
+		if (options.getParallelism() <= 0 || options.getQueueCapacity() <= 0) {
+			throw new IllegalArgumentException("Parallelism and queue capacity must be positive");
+		}
+		this.recordElement = recordElement;
+		this.options = options;
+		this.binder = binder;
+		this.results = options.isOrdered() ? new LinkedBlockingQueue<>(options.getQueueCapacity()) : new LinkedBlockingQueue<>();
+		this.permits = new Semaphore(options.getQueueCapacity());
+	}
+
+	void read(InputStream source, Consumer<? super T> consumer) throws IOException, XMLStreamException, ParserException, ValidationException {
+		pool = new ForkJoinPool(options.getParallelism());
+		Thread splitter = new Thread(() -> split(source), "xmlparser-splitter");
+		splitter.setDaemon(true);
+		splitter.start();
+		try {
+			CompletableFuture<T> result;
+			while ((result = results.take()) != end) {
+				T value = join(result);
+				if (!options.isOrdered()) {
+					permits.release();
+				}
+				consumer.accept(value);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} finally {
+			cancelled = true;
+			splitter.interrupt();
+			pool.shutdownNow();
+		}
+	}
+
+	private void split(InputStream source) {
+		RecordScanner scanner = new RecordScanner(recordElement);
+		byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+		int count = 0;
+		int position = 0;
+		try {
+			while (!cancelled) {
+				if (position < count && scanner.scan(ByteBuffer.wrap(buffer), position, count)) {
+					submit(ByteBuffer.wrap(Arrays.copyOfRange(buffer, scanner.getRecordStart(), scanner.getRecordEnd())));
+					position = scanner.getRecordEnd();
+					continue;
+				}
+				int keep = position < count ? scanner.getResumeFrom() : count;
+				System.arraycopy(buffer, keep, buffer, 0, count - keep);
+				count -= keep;
+				position = 0;
+				if (count == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+				int read = source.read(buffer, count, buffer.length - count);
+				if (read < 0) {
+					break;
+				}
+				count += read;
+			}
+		} catch (InterruptedException e) {
+			return;
+		} catch (IOException | RuntimeException e) {
+			CompletableFuture<T> failure = new CompletableFuture<>();
+			failure.completeExceptionally(e);
+			offer(failure);
+		}
+		splitterDone = true;
+		if (options.isOrdered() || pending.get() == 0) {
+			signalEnd();
+		}
+	}
+
+	private void submit(ByteBuffer chunk) throws InterruptedException {
+		if (options.isOrdered()) {
+			results.put(CompletableFuture.supplyAsync(() -> bind(chunk), pool));
+			return;
+		}
+		permits.acquire();
+		pending.incrementAndGet();
+		CompletableFuture.supplyAsync(() -> bind(chunk), pool).whenComplete((value, error) -> {
+			CompletableFuture<T> done = new CompletableFuture<>();
+			if (error != null) {
+				done.completeExceptionally(error);
+			} else {
+				done.complete(value);
+			}
+			offer(done);
+			if (pending.decrementAndGet() == 0 && splitterDone) {
+				signalEnd();
+			}
+		});
+	}
+
+	private T bind(ByteBuffer chunk) {
+		try {
+			return binder.bind(chunk);
+		} catch (XMLStreamException | ParserException | ValidationException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	private void offer(CompletableFuture<T> result) {
+		try {
+			results.put(result);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void signalEnd() {
+		if (endSignalled.compareAndSet(false, true)) {
+			offer(end);
+		}
+	}
+
+	static <T> T join(CompletableFuture<T> result) throws IOException, XMLStreamException, ParserException, ValidationException {
+		try {
+			return result.join();
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof XMLStreamException) {
+				throw (XMLStreamException) cause;
+			}
+			if (cause instanceof ParserException) {
+				throw (ParserException) cause;
+			}
+			if (cause instanceof ValidationException) {
+				throw (ValidationException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw e;
+		}
+	}
+
+	@FunctionalInterface
+	interface ChunkBinder<T> {
+		T bind(ByteBuffer chunk) throws XMLStreamException, ParserException, ValidationException;
+	}
+
+}
@@ -0,0 +1,71 @@
+package putko.parser;
+
+import java.lang.reflect.Array;
+
+/**
+ * Growable primitive array that collects the values of a repeated element
+ * without boxing them.
+ */
+final class PrimitiveBuffer {
+
+	private final Class<?> componentType;
+	private Object values;
+	private int capacity;
+	private int size;
+
+	PrimitiveBuffer(Class<?> componentType, int expectedSize) {
+		this.componentType = componentType;
+		this.capacity = Math.max(expectedSize, 8);
+		this.values = Array.newInstance(componentType, capacity);
+	}
+
+	void addInt(int value) {
+		ensureCapacity();
+		((int[]) values)[size++] = value;
+	}
+
+	void addLong(long value) {
+		ensureCapacity();
+		((long[]) values)[size++] = value;
+	}
+
+	void addDouble(double value) {
+		ensureCapacity();
+		((double[]) values)[size++] = value;
+	}
+
+	void addFloat(float value) {
+		ensureCapacity();
+		((float[]) values)[size++] = value;
+	}
+
+	void addBoolean(boolean value) {
+		ensureCapacity();
+		((boolean[]) values)[size++] = value;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return the collected values as an array of their exact size; the buffer
+	 *         is empty afterwards and can be filled again
+	 */
+	Object toArray() {
+		Object array = Array.newInstance(componentType, size);
+		System.arraycopy(values, 0, array, 0, size);
+		size = 0;
+		return array;
+	}
+
+	private void ensureCapacity() {
+		if (size == capacity) {
+			capacity *= 2;
+			Object grown = Array.newInstance(componentType, capacity);
+			System.arraycopy(values, 0, grown, 0, size);
+			values = grown;
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package putko.parser;
+
+import java.util.Iterator;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import putko.parser.exeptions.ParserException;
+import putko.parser.exeptions.RecordReadException;
+import putko.parser.validation.ValidationException;
+
+class RecordIterator<T> implements Iterator<T>, AutoCloseable {
+
+	private final XMLStreamReader reader;
+	private final String recordElement;
+	private final RecordBinder<T> binder;
+	private T next;
+	private boolean finished;
+
+	RecordIterator(XMLStreamReader reader, String recordElement, RecordBinder<T> binder) {
+		this.reader = reader;
+		this.recordElement = recordElement;
+		this.binder = binder;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next != null) {
+			return true;
+		}
+		if (finished) {
+			return false;
+		}
+		try {
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT && recordElement.equals(reader.getLocalName())) {
+					next = binder.bind(reader);
+					return true;
+				}
+			}
+		} catch (XMLStreamException | ParserException | ValidationException e) {
+			close();
+			throw new RecordReadException(e);
+		} catch (RuntimeException e) {
+			try {
+				close();
+			} catch (RecordReadException closeFailure) {
+				e.addSuppressed(closeFailure);
+			}
+			throw e;
+		}
+		close();
+		return false;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new java.util.NoSuchElementException();
+		}
+		T record = next;
+		next = null;
+		return record;
+	}
+
+	@Override
+	public void close() {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		try {
+			reader.close();
+		} catch (XMLStreamException e) {
+			throw new RecordReadException(e);
+		}
+	}
+
+	@FunctionalInterface
+	interface RecordBinder<T> {
+		T bind(XMLStreamReader reader) throws XMLStreamException, ParserException, ValidationException;
+	}
+
+}
@@ -0,0 +1,689 @@
+package putko.parser;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import javax.xml.stream.XMLStreamReader;
+
+import putko.parser.access.FieldAccessor;
+import putko.parser.convert.BooleanConverter;
+import putko.parser.convert.DoubleConverter;
+import putko.parser.convert.FloatConverter;
+import putko.parser.convert.IntConverter;
+import putko.parser.convert.LongConverter;
+import putko.parser.convert.TypeConverter;
+import putko.parser.convert.TypeConverters;
+import putko.parser.exeptions.NoSuchElementException;
+import putko.parser.exeptions.NotAllowedTypeException;
+import putko.parser.exeptions.ParserException;
+import putko.parser.validation.ValidationException;
+import putko.parser.validation.ValidationReport;
+
+import com.google.common.base.Throwables;
+
+/**
+ * Binds the events of one document (or one record) to an object graph. Open
+ * objects are kept on a depth-indexed frame stack whose frames are reused, and
+ * child elements are resolved through the binding plan of the enclosing
+ * object, so elements can repeat the name of an ancestor. Leaf text is
+ * collected into a reused character buffer and converted from it by the
+ * converter resolved for the field; primitives go through the specialized
+ * converters without boxing. Repeated elements are collected per frame and assigned when their
+ * object ends; primitive arrays are filled through {@link PrimitiveBuffer}s.
+ * Values with validators are queued and validated per object, or in batches
+ * on the configured validation executor. When rebinding a target in place,
+ * existing nested objects and lists are reset and reused, and pooled types
+ * are taken from their {@link ObjectPool}; a pass that is abandoned hands
+ * them back.
+ */
+class Unmarshaller<T> {
+
+	private static final int DEFERRED_BATCH = 256;
+
+	private final XmlParser parser;
+	private final Class<T> objectType;
+	private final T existing;
+	private final boolean pooled;
+	private final boolean ignoreNotAnnotatedElements;
+	private final boolean timed;
+	private final Executor validationExecutor;
+	private final List<Object> acquired;
+	private Object[] pendingValues = new Object[16];
+	private ElementDescription[] pendingElements = new ElementDescription[16];
+	private int pendingSize;
+	private List<CompletableFuture<List<ValidationException>>> deferred;
+	private char[] text = new char[64];
+	private int textLength;
+	private Frame[] frames = new Frame[8];
+	private int size;
+	private int skipDepth;
+	private ElementDescription leaf;
+	private boolean hasText;
+	private T result;
+	private boolean complete;
+	private int elements;
+	private long conversionNanos;
+
+	Unmarshaller(XmlParser parser, Class<T> objectType, T existing) {
+		this.parser = parser;
+		this.objectType = objectType;
+		this.existing = existing;
+		this.pooled = parser.getConfiguration().hasPools();
+		this.acquired = pooled && existing == null ? new ArrayList<>() : null;
+		this.ignoreNotAnnotatedElements = parser.getConfiguration().isIgnoreNotAnnotatedElements();
+		this.timed = parser.getConfiguration().getListener() != null;
+		this.validationExecutor = parser.getConfiguration().getValidationExecutor();
+	}
+
+	void startElement(String name, XMLStreamReader attributes) throws ParserException, ValidationException {
+		if (skipDepth > 0) {
+			skipDepth++;
+			return;
+		}
+		if (size == 0) {
+			BindingPlan plan = parser.getBindingPlan(objectType);
+			Class<?> subtype = plan.isPolymorphic() ? subtype(plan, name, attributes) : null;
+			if (subtype != null) {
+				plan = parser.getBindingPlan(subtype);
+			} else if (!name.equals(plan.getRootName()) && !isBaseForm(plan, name, attributes) && !ignoreNotAnnotatedElements) {
+				throw new NoSuchElementException(name);
+			}
+			if (existing == null) {
+				push(plan.newInstance(name), plan, null);
+			} else {
+				push(existing, plan, null);
+				reset(frames[0]);
+			}
+			elements++;
+			readAttributes(attributes);
+			return;
+		}
+		ElementDescription element = frames[size - 1].plan.getElement(name);
+		if (leaf != null || element == null || element.getType() != ValueType.ELEMENT) {
+			if (!ignoreNotAnnotatedElements) {
+				throw new NoSuchElementException(name);
+			}
+			skipDepth = 1;
+			return;
+		}
+		elements++;
+		if (element.isSimpleValue()) {
+			leaf = element;
+			hasText = false;
+			textLength = 0;
+			return;
+		}
+		BindingPlan childPlan = parser.getChildPlan(element);
+		if (childPlan.isPolymorphic()) {
+			Class<?> subtype = subtype(childPlan, name, attributes);
+			if (subtype != null) {
+				childPlan = parser.getBindingPlan(subtype);
+			}
+		}
+		Object reused = reusable(element, childPlan.getType());
+		if (reused != null) {
+			push(reused, childPlan, element);
+			reset(frames[size - 1]);
+		} else {
+			push(childPlan.newInstance(name), childPlan, element);
+		}
+		readAttributes(attributes);
+	}
+
+	void characters(char[] characters, int start, int length) {
+		if (leaf != null && skipDepth == 0) {
+			if (textLength + length > text.length) {
+				char[] grown = new char[Math.max(text.length * 2, textLength + length)];
+				System.arraycopy(text, 0, grown, 0, textLength);
+				text = grown;
+			}
+			System.arraycopy(characters, start, text, textLength, length);
+			textLength += length;
+			hasText = true;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	void endElement() throws ParserException, ValidationException {
+		if (skipDepth > 0) {
+			skipDepth--;
+			return;
+		}
+		if (leaf != null) {
+			if (hasText && timed) {
+				long start = System.nanoTime();
+				setFieldValue(leaf, frames[size - 1].target);
+				conversionNanos += System.nanoTime() - start;
+			} else if (hasText) {
+				setFieldValue(leaf, frames[size - 1].target);
+			}
+			leaf = null;
+			return;
+		}
+		Frame frame = frames[--size];
+		Object target = frame.target;
+		frame.target = null;
+		if (frame.collections != null) {
+			assignCollections(frame, target);
+		}
+		if (frame.spares != null) {
+			releaseSpares(frame);
+		}
+		if (validationExecutor == null) {
+			validatePending(frame.validationStart);
+		} else if (pendingSize >= DEFERRED_BATCH || size == 0 && pendingSize > 0) {
+			submitPending();
+		}
+		if (size == 0) {
+			if (deferred != null) {
+				awaitDeferred();
+			}
+			result = (T) target;
+			complete = true;
+			return;
+		}
+		setObjectValue(frame.element, frames[size - 1].target, target);
+	}
+
+	/**
+	 * @return whether the last started element is not mapped; the driver may
+	 *         then skip its subtree and report only its end
+	 */
+	boolean isSkipping() {
+		return skipDepth == 1;
+	}
+
+	/**
+	 * Releases the pooled objects an interrupted pass holds before the
+	 * document is read again. Without a target the whole graph is dropped, so
+	 * everything taken from the pools goes back; when rebinding in place only
+	 * what is not attached to the target yet does: objects of open elements,
+	 * their pending list items and unused spares.
+	 */
+	void abandon() {
+		if (!pooled) {
+			return;
+		}
+		if (acquired != null) {
+			for (Object object : acquired) {
+				release(object);
+			}
+			acquired.clear();
+		}
+		for (int i = 0; i < size; i++) {
+			Frame frame = frames[i];
+			if (frame.spares != null) {
+				releaseSpares(frame);
+			}
+			if (existing == null) {
+				continue;
+			}
+			if (i > 0) {
+				release(frame.target);
+			}
+			if (frame.collections != null) {
+				releasePending(frame);
+			}
+		}
+	}
+
+	boolean isComplete() {
+		return complete;
+	}
+
+	T getResult() {
+		return result;
+	}
+
+	int getElements() {
+		return elements;
+	}
+
+	long getConversionNanos() {
+		return conversionNanos;
+	}
+
+	private void push(Object target, BindingPlan plan, ElementDescription element) {
+		if (size == frames.length) {
+			Frame[] grown = new Frame[frames.length * 2];
+			System.arraycopy(frames, 0, grown, 0, frames.length);
+			frames = grown;
+		}
+		Frame frame = frames[size];
+		if (frame == null) {
+			frame = new Frame();
+			frames[size] = frame;
+		}
+		if (frame.plan != plan) {
+			int collections = plan.getCollectionElements().length;
+			frame.collections = collections == 0 ? null : new Object[collections];
+			int children = plan.getChildElements().length;
+			frame.spares = children == 0 ? null : new Object[children];
+		}
+		frame.target = target;
+		frame.plan = plan;
+		frame.validationStart = pendingSize;
+		frame.element = element;
+		size++;
+	}
+
+	/**
+	 * Picks the subtype of a polymorphic plan by element name or by the value
+	 * of its discriminator attribute.
+	 */
+	private static Class<?> subtype(BindingPlan plan, String name, XMLStreamReader attributes) {
+		String discriminator = plan.getDiscriminator();
+		String key = discriminator == null ? name : attributes.getAttributeValue(null, discriminator);
+		return key == null ? null : plan.getSubtype(key);
+	}
+
+	/**
+	 * @return whether the root element is written the way the base type of a
+	 *         subtype reads it, as the marshaller writes subtype roots
+	 */
+	private boolean isBaseForm(BindingPlan plan, String name, XMLStreamReader attributes) throws ParserException {
+		BindingPlan base = parser.getBasePlan(plan);
+		return base != null && (base.getDiscriminator() == null || name.equals(base.getRootName()))
+				&& subtype(base, name, attributes) == plan.getType();
+	}
+
+	/**
+	 * @return the nested object the reset parent held for this element, or an
+	 *         instance from the pool of its type; {@code null} when a new
+	 *         instance has to be created
+	 */
+	private Object reusable(ElementDescription element, Class<?> type) {
+		Object[] spares = frames[size - 1].spares;
+		if (spares != null && element.getCollection() == null) {
+			Object spare = spares[element.getCollectionIndex()];
+			spares[element.getCollectionIndex()] = null;
+			if (spare != null && spare.getClass() == type) {
+				return spare;
+			}
+		}
+		ObjectPool<Object> pool = pool(type);
+		if (pool == null) {
+			return null;
+		}
+		Object object = pool.acquire();
+		if (object != null && acquired != null) {
+			acquired.add(object);
+		}
+		return object;
+	}
+
+	/**
+	 * Clears the fields of a reused object before it is bound. Nested objects
+	 * are kept aside for their elements and {@code ArrayList}s are cleared and
+	 * refilled, so rebinding a graph of the same shape allocates no objects.
+	 */
+	@SuppressWarnings("unchecked")
+	private void reset(Frame frame) {
+		Object target = frame.target;
+		for (ElementDescription attribute : frame.plan.getAttributeElements()) {
+			clear(attribute, target);
+		}
+		for (ElementDescription element : frame.plan.getFieldElements()) {
+			if (element.getCollection() == CollectionType.LIST) {
+				Object list = element.getAccessor().get(target);
+				if (list instanceof ArrayList) {
+					release((List<Object>) list);
+					((List<Object>) list).clear();
+					frame.collections[element.getCollectionIndex()] = list;
+				} else {
+					element.getAccessor().set(target, null);
+				}
+			} else if (element.getCollection() == null && !element.isSimpleValue()) {
+				frame.spares[element.getCollectionIndex()] = element.getAccessor().get(target);
+				element.getAccessor().set(target, null);
+			} else {
+				clear(element, target);
+			}
+		}
+	}
+
+	private static void clear(ElementDescription element, Object target) {
+		FieldAccessor accessor = element.getAccessor();
+		if (element.getCollection() != null || !element.getGenericType().isPrimitive()) {
+			accessor.set(target, null);
+			return;
+		}
+		switch (element.getPrimitiveType()) {
+		case INT:
+			accessor.setInt(target, 0);
+			break;
+		case DOUBLE:
+			accessor.setDouble(target, 0);
+			break;
+		case FLOAT:
+			accessor.setFloat(target, 0);
+			break;
+		case BOOLEAN:
+			accessor.setBoolean(target, false);
+			break;
+		case LONG:
+			accessor.setLong(target, 0);
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void release(List<Object> items) {
+		if (pooled) {
+			for (Object item : items) {
+				release(item);
+			}
+		}
+	}
+
+	private void release(Object object) {
+		ObjectPool<Object> pool = pool(object.getClass());
+		if (pool != null) {
+			pool.release(object);
+		}
+	}
+
+	/**
+	 * Releases the nested objects of a reset object whose elements did not
+	 * occur in the document.
+	 */
+	private void releaseSpares(Frame frame) {
+		Object[] spares = frame.spares;
+		for (int i = 0; i < spares.length; i++) {
+			if (spares[i] != null) {
+				release(spares[i]);
+				spares[i] = null;
+			}
+		}
+	}
+
+	/**
+	 * Releases the items of lists collected for an open element that are not
+	 * set on its object yet.
+	 */
+	@SuppressWarnings("unchecked")
+	private void releasePending(Frame frame) {
+		ElementDescription[] elements = frame.plan.getCollectionElements();
+		Object[] collections = frame.collections;
+		for (int i = 0; i < collections.length; i++) {
+			Object collection = collections[i];
+			if (collection instanceof List && elements[i].getAccessor().get(frame.target) != collection) {
+				release((List<Object>) collection);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private ObjectPool<Object> pool(Class<?> type) {
+		return pooled ? (ObjectPool<Object>) parser.getConfiguration().getPool(type) : null;
+	}
+
+	/**
+	 * Reads the attributes of the element of the top frame by index. Attributes
+	 * are expected in declaration order, so the name is compared with a single
+	 * candidate and only looked up when the order differs. Unmapped attributes
+	 * are ignored.
+	 */
+	private void readAttributes(XMLStreamReader attributes) throws NotAllowedTypeException, ValidationException {
+		Frame frame = frames[size - 1];
+		ElementDescription[] expected = frame.plan.getAttributeElements();
+		if (expected.length == 0) {
+			return;
+		}
+		int count = attributes.getAttributeCount();
+		for (int i = 0; i < count; i++) {
+			String name = attributes.getAttributeLocalName(i);
+			ElementDescription attribute = i < expected.length && expected[i].getName().equals(name) ? expected[i] : frame.plan
+					.getAttribute(name);
+			if (attribute != null) {
+				setAttributeValue(attribute, frame.target, attributes.getAttributeValue(i));
+			}
+		}
+	}
+
+	private void setAttributeValue(ElementDescription attribute, Object target, String value) throws NotAllowedTypeException,
+			ValidationException {
+		if (attribute.getConverter() == TypeConverters.STRING) {
+			setObjectValue(attribute, target, value);
+			return;
+		}
+		int length = value.length();
+		if (length > text.length) {
+			text = new char[Math.max(text.length * 2, length)];
+		}
+		value.getChars(0, length, text, 0);
+		textLength = length;
+		setFieldValue(attribute, target);
+	}
+
+	private void setFieldValue(ElementDescription element, Object value) throws NumberFormatException, ValidationException,
+			NotAllowedTypeException {
+		TypeConverter<?> converter = element.getConverter();
+		if (converter == null) {
+			throw new NotAllowedTypeException(element.getFieldName(), element.getGenericType());
+		}
+		int start = 0;
+		int end = textLength;
+		while (start < end && text[start] <= ' ') {
+			start++;
+		}
+		while (end > start && text[end - 1] <= ' ') {
+			end--;
+		}
+		if (!element.getGenericType().isPrimitive()) {
+			setObjectValue(element, value, converter.fromText(text, start, end - start));
+			return;
+		}
+		switch (element.getPrimitiveType()) {
+		case INT:
+			setIntValue(element, value, ((IntConverter) converter).parseInt(text, start, end - start));
+			break;
+		case DOUBLE:
+			setDoubleValue(element, value, ((DoubleConverter) converter).parseDouble(text, start, end - start));
+			break;
+		case FLOAT:
+			setFloatValue(element, value, ((FloatConverter) converter).parseFloat(text, start, end - start));
+			break;
+		case BOOLEAN:
+			setBooleanValue(element, value, ((BooleanConverter) converter).parseBoolean(text, start, end - start));
+			break;
+		case LONG:
+			setLongValue(element, value, ((LongConverter) converter).parseLong(text, start, end - start));
+			break;
+		default:
+			break;
+		}
+	}
+
+	private void setObjectValue(ElementDescription element, Object value, Object val) throws ValidationException {
+		if (element.hasValidators()) {
+			validate(element, val);
+		}
+		if (element.getCollection() == null) {
+			element.getAccessor().set(value, val);
+		} else {
+			list(element).add(val);
+		}
+	}
+
+	private void setIntValue(ElementDescription element, Object value, int val) throws NumberFormatException, ValidationException {
+		if (element.hasValidators()) {
+			validate(element, val);
+		}
+		if (element.getCollection() == null) {
+			element.getAccessor().setInt(value, val);
+		} else {
+			buffer(element).addInt(val);
+		}
+	}
+
+	private void setDoubleValue(ElementDescription element, Object value, double val) throws NumberFormatException, ValidationException {
+		if (element.hasValidators()) {
+			validate(element, val);
+		}
+		if (element.getCollection() == null) {
+			element.getAccessor().setDouble(value, val);
+		} else {
+			buffer(element).addDouble(val);
+		}
+	}
+
+	private void setFloatValue(ElementDescription element, Object value, float val) throws NumberFormatException, ValidationException {
+		if (element.hasValidators()) {
+			validate(element, val);
+		}
+		if (element.getCollection() == null) {
+			element.getAccessor().setFloat(value, val);
+		} else {
+			buffer(element).addFloat(val);
+		}
+	}
+
+	private void setBooleanValue(ElementDescription element, Object value, boolean val) throws ValidationException {
+		if (element.hasValidators()) {
+			validate(element, val);
+		}
+		if (element.getCollection() == null) {
+			element.getAccessor().setBoolean(value, val);
+		} else {
+			buffer(element).addBoolean(val);
+		}
+	}
+
+	private void setLongValue(ElementDescription element, Object value, long val) throws NumberFormatException, ValidationException {
+		if (element.hasValidators()) {
+			validate(element, val);
+		}
+		if (element.getCollection() == null) {
+			element.getAccessor().setLong(value, val);
+		} else {
+			buffer(element).addLong(val);
+		}
+	}
+
+	/**
+	 * Queues a value for validation. Values are validated when the object they
+	 * belong to ends, or in batches on the validation executor.
+	 */
+	private void validate(ElementDescription element, Object value) {
+		if (pendingSize == pendingValues.length) {
+			pendingValues = Arrays.copyOf(pendingValues, pendingSize * 2);
+			pendingElements = Arrays.copyOf(pendingElements, pendingSize * 2);
+		}
+		pendingValues[pendingSize] = value;
+		pendingElements[pendingSize++] = element;
+	}
+
+	private void validatePending(int from) throws ValidationException {
+		try {
+			for (int i = from; i < pendingSize; i++) {
+				parser.validateField(pendingValues[i], pendingElements[i]);
+			}
+		} finally {
+			Arrays.fill(pendingValues, from, pendingSize, null);
+			pendingSize = from;
+		}
+	}
+
+	private void submitPending() {
+		Object[] values = Arrays.copyOf(pendingValues, pendingSize);
+		ElementDescription[] elements = Arrays.copyOf(pendingElements, pendingSize);
+		Arrays.fill(pendingValues, 0, pendingSize, null);
+		pendingSize = 0;
+		if (deferred == null) {
+			deferred = new ArrayList<>();
+		}
+		deferred.add(CompletableFuture.supplyAsync(() -> {
+			List<ValidationException> failures = new ArrayList<>();
+			for (int i = 0; i < values.length; i++) {
+				try {
+					parser.validateField(values[i], elements[i]);
+				} catch (ValidationException e) {
+					failures.add(e);
+				}
+			}
+			return failures;
+		}, validationExecutor));
+	}
+
+	private void awaitDeferred() throws ValidationReport {
+		List<ValidationException> failures = new ArrayList<>();
+		for (CompletableFuture<List<ValidationException>> batch : deferred) {
+			try {
+				failures.addAll(batch.join());
+			} catch (CompletionException e) {
+				Throwables.propagateIfPossible(e.getCause());
+				throw e;
+			}
+		}
+		deferred = null;
+		if (!failures.isEmpty()) {
+			throw new ValidationReport(failures);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Object> list(ElementDescription element) {
+		Object[] collections = frames[size - 1].collections;
+		List<Object> list = (List<Object>) collections[element.getCollectionIndex()];
+		if (list == null) {
+			list = new ArrayList<>(Math.max(element.getExpectedSize(), 10));
+			collections[element.getCollectionIndex()] = list;
+		}
+		return list;
+	}
+
+	private PrimitiveBuffer buffer(ElementDescription element) {
+		Object[] collections = frames[size - 1].collections;
+		PrimitiveBuffer buffer = (PrimitiveBuffer) collections[element.getCollectionIndex()];
+		if (buffer == null) {
+			buffer = new PrimitiveBuffer(element.getGenericType(), element.getExpectedSize());
+			collections[element.getCollectionIndex()] = buffer;
+		}
+		return buffer;
+	}
+
+	private static void assignCollections(Frame frame, Object target) {
+		ElementDescription[] elements = frame.plan.getCollectionElements();
+		Object[] collections = frame.collections;
+		for (int i = 0; i < collections.length; i++) {
+			Object collection = collections[i];
+			if (collection == null) {
+				continue;
+			}
+			ElementDescription element = elements[i];
+			switch (element.getCollection()) {
+			case PRIMITIVE_ARRAY:
+				PrimitiveBuffer buffer = (PrimitiveBuffer) collection;
+				if (!buffer.isEmpty()) {
+					element.getAccessor().set(target, buffer.toArray());
+				}
+				continue;
+			case ARRAY:
+				List<?> items = (List<?>) collection;
+				element.getAccessor().set(target, items.toArray((Object[]) Array.newInstance(element.getGenericType(), items.size())));
+				break;
+			default:
+				element.getAccessor().set(target, collection);
+				break;
+			}
+			collections[i] = null;
+		}
+	}
+
+	private static class Frame {
+		private Object target;
+		private BindingPlan plan;
+		private ElementDescription element;
+		private Object[] collections;
+		private Object[] spares;
+		private int validationStart;
+	}
+
+}
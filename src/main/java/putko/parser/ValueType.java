@@ -3,6 +3,7 @@ package putko.parser;
 public enum ValueType {
 
 	ROOT,
-	ELEMENT
+	ELEMENT,
+	ATTRIBUTE
 	
 }
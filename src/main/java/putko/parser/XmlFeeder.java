@@ -0,0 +1,211 @@
+package putko.parser;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import putko.parser.exeptions.ParserException;
+import putko.parser.io.CompiledXmlReader;
+import putko.parser.metrics.ParserListener;
+import putko.parser.validation.ValidationException;
+
+/**
+ * Push side of the parser for input that arrives in chunks, for example from a
+ * non-blocking channel. The chunks are read by a {@link CompiledXmlReader} in
+ * incremental mode and every event is passed to the {@link Unmarshaller} of
+ * the record in progress right away, so a record is bound while it arrives
+ * and handed to the consumer on the feeding thread as soon as it ends. Only
+ * the bytes of the event cut off at the end of a chunk are kept; the partially
+ * bound object carries the rest of the state to the next chunk, also when the
+ * record is the root of the document. Feeding never waits for input. The input
+ * has to be UTF-8 and use the markup the compiled reader supports; anything
+ * else fails with an {@link putko.parser.io.UnsupportedMarkupException}. A
+ * feeder belongs to one input and is not thread-safe.
+ */
+public class XmlFeeder<T> {
+
+	private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+	private final XmlParser parser;
+	private final String recordElement;
+	private final Class<T> objectType;
+	private final Consumer<? super T> consumer;
+	private ParserListener listener;
+	private CompiledXmlReader reader;
+	private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+	private Unmarshaller<T> unmarshaller;
+	private int recordDepth;
+	private long recordNanos;
+	private long sliceStart;
+	private boolean ended;
+
+	XmlFeeder(XmlParser parser, String recordElement, Class<T> objectType, Consumer<? super T> consumer) {
+		this.parser = parser;
+		this.recordElement = recordElement;
+		this.objectType = objectType;
+		this.consumer = consumer;
+	}
+
+	/**
+	 * Consumes the remaining bytes of the chunk and binds as much of the input
+	 * as they complete. When binding a record fails, the error is thrown and
+	 * the rest of the record is skipped, so feeding can go on with the next
+	 * one.
+	 */
+	public void feed(ByteBuffer chunk) throws XMLStreamException, ParserException, ValidationException {
+		if (ended) {
+			throw new IllegalStateException("Input has already ended");
+		}
+		if (reader == null) {
+			reader = new CompiledXmlReader(parser.getNameTable(objectType));
+			listener = parser.getConfiguration().getListener();
+		}
+		if (listener != null) {
+			listener.bytesRead(chunk.remaining());
+		}
+		ByteBuffer data;
+		if (pending.position() == 0) {
+			data = chunk.duplicate();
+			chunk.position(chunk.limit());
+		} else {
+			if (pending.remaining() < chunk.remaining()) {
+				pending = grow(pending, chunk.remaining());
+			}
+			pending.put(chunk);
+			data = pending;
+			data.limit(data.position()).position(0);
+		}
+		int limit = data.limit();
+		reader.setInput(data, data.position(), limit);
+		try {
+			drain();
+		} finally {
+			retain(data, reader.getPosition(), limit, data == pending);
+		}
+	}
+
+	/**
+	 * Ends the input.
+	 *
+	 * @throws XMLStreamException
+	 *             when the input ended inside a record
+	 */
+	public void endOfInput() throws XMLStreamException {
+		ended = true;
+		pending.clear();
+		unmarshaller = null;
+		if (recordDepth > 0) {
+			throw new XMLStreamException("Input ended inside a " + recordElement + " record, " + recordDepth + " elements open");
+		}
+	}
+
+	/**
+	 * @return the bytes kept for the event cut off at the end of the last chunk
+	 */
+	int getPendingBytes() {
+		return pending.position();
+	}
+
+	private void drain() throws XMLStreamException, ParserException, ValidationException {
+		if (listener != null) {
+			sliceStart = System.nanoTime();
+		}
+		try {
+			for (int event = reader.next(); event != CompiledXmlReader.INCOMPLETE; event = reader.next()) {
+				if (recordDepth == 0 && (event != XMLStreamConstants.START_ELEMENT || !recordElement.equals(reader.getLocalName()))) {
+					continue;
+				}
+				T record;
+				try {
+					record = bind(event);
+				} catch (ParserException | ValidationException | RuntimeException e) {
+					unmarshaller = null;
+					if (listener != null) {
+						listener.failed(objectType, e);
+					}
+					throw e;
+				}
+				if (record != null) {
+					consumer.accept(record);
+				}
+			}
+		} finally {
+			if (listener != null && unmarshaller != null) {
+				recordNanos += System.nanoTime() - sliceStart;
+			}
+		}
+	}
+
+	/**
+	 * Passes an event of a record to its unmarshaller; events of a record whose
+	 * binding failed are only counted.
+	 *
+	 * @return the record the event completes, or {@code null}
+	 */
+	private T bind(int event) throws ParserException, ValidationException {
+		switch (event) {
+		case XMLStreamConstants.START_ELEMENT:
+			if (recordDepth++ == 0) {
+				unmarshaller = new Unmarshaller<>(parser, objectType, null);
+				if (listener != null) {
+					recordNanos = 0;
+					sliceStart = System.nanoTime();
+				}
+			}
+			if (unmarshaller != null) {
+				unmarshaller.startElement(reader.getLocalName(), reader);
+			}
+			return null;
+		case XMLStreamConstants.CHARACTERS:
+		case XMLStreamConstants.CDATA:
+			if (unmarshaller != null) {
+				unmarshaller.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+			}
+			return null;
+		case XMLStreamConstants.END_ELEMENT:
+			recordDepth--;
+			if (unmarshaller == null) {
+				return null;
+			}
+			unmarshaller.endElement();
+			if (!unmarshaller.isComplete()) {
+				return null;
+			}
+			T record = unmarshaller.getResult();
+			if (listener != null) {
+				listener.documentBound(objectType, unmarshaller.getElements(), recordNanos + System.nanoTime() - sliceStart,
+						unmarshaller.getConversionNanos());
+			}
+			unmarshaller = null;
+			return record;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Moves the unread bytes to the start of the pending buffer.
+	 */
+	private void retain(ByteBuffer data, int from, int limit, boolean buffered) {
+		if (buffered) {
+			pending.limit(limit).position(from);
+			pending.compact();
+			return;
+		}
+		ByteBuffer rest = data.duplicate();
+		rest.limit(limit).position(from);
+		if (pending.capacity() < rest.remaining()) {
+			pending = ByteBuffer.allocate(Math.max(pending.capacity() * 2, rest.remaining()));
+		}
+		pending.put(rest);
+	}
+
+	private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+		ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+		buffer.flip();
+		return grown.put(buffer);
+	}
+
+}
@@ -1,312 +1,773 @@
 package putko.parser;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
-import java.lang.annotation.ElementType;
-import java.lang.annotation.Target;
 import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map.Entry;
-import java.util.NavigableMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import lombok.Getter;
 
-import org.reflections.Reflections;
-
+import putko.parser.access.FieldAccessor;
+import putko.parser.access.GeneratedBinder;
+import putko.parser.annotation.XmlAttribute;
 import putko.parser.annotation.XmlElement;
 import putko.parser.annotation.XmlRoot;
+import putko.parser.annotation.XmlSubtypes;
+import putko.parser.convert.TypeConverter;
 import putko.parser.exeptions.ElementNotAnnotatedException;
-import putko.parser.exeptions.NoSuchElementException;
-import putko.parser.exeptions.NotAllowedTypeException;
 import putko.parser.exeptions.ParserException;
 import putko.parser.exeptions.WrongAnnotationException;
+import putko.parser.io.ByteBufferInputStream;
+import putko.parser.io.CompiledXmlReader;
+import putko.parser.io.NameTable;
+import putko.parser.io.UnsupportedMarkupException;
+import putko.parser.metrics.ParserListener;
 import putko.parser.validation.Valid;
 import putko.parser.validation.ValidationException;
 import putko.parser.validation.Validator;
+import putko.parser.validation.ValidatorRegistry;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.io.CountingInputStream;
 
 @SuppressWarnings("restriction")
 public class XmlParser implements ObjectParser {
 
-	private static final Set<Class<? extends Annotation>> ALLOWED_FIELD_ANNOTATIONS = Sets.newHashSet();
-	private static final Set<Class<? extends Annotation>> ALLOWED_CLASS_ANNOTATIONS = Sets.newHashSet();
-	private static HashMap<Class<? extends Validator<?>>, Validator<?>> ACTIVE_VALIDATORS = Maps.newHashMap();
+	private static final Set<Class<? extends Annotation>> ALLOWED_FIELD_ANNOTATIONS = ImmutableSet.<Class<? extends Annotation>> of(XmlElement.class,
+			XmlAttribute.class);
+	private static final Set<Class<? extends Annotation>> ALLOWED_CLASS_ANNOTATIONS = ImmutableSet.<Class<? extends Annotation>> of(XmlRoot.class);
+
+	@Getter
+	private final Configuration configuration;
 
 	@Getter
-	private Configuration configuration = new Configuration();
-
-	static {
-		Reflections reflections = new Reflections("putko.parser.annotation");
-		Set<Class<? extends Annotation>> allAnnotations = reflections.getSubTypesOf(Annotation.class);
-		for (Class<? extends Annotation> annotation : allAnnotations) {
-			Target target = annotation.getAnnotation(Target.class);
-			if (Arrays.stream(target.value()).allMatch(t -> t.equals(ElementType.FIELD))) {
-				ALLOWED_FIELD_ANNOTATIONS.add(annotation);
+	private final ValidatorRegistry validatorRegistry = new ValidatorRegistry();
+
+	private final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+
+	private final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+	private volatile BindingPlanCache bindingPlanCache;
+
+	public XmlParser() {
+		this(new Configuration());
+	}
+
+	public XmlParser(Configuration configuration) {
+		this.configuration = configuration;
+	}
+
+	@Override
+	public <T> T readObject(String source, Class<T> objectType) throws ParserException, XMLStreamException, ValidationException {
+		return readObject(source, objectType, null);
+	}
+
+	@Override
+	public <T> T readObject(InputStream source, Class<T> objectType) throws ParserException, XMLStreamException, ValidationException {
+		return readObject(source, objectType, null);
+	}
+
+	@Override
+	public <T> T readObject(Reader source, Class<T> objectType) throws ParserException, XMLStreamException, ValidationException {
+		return readObject(source, objectType, null);
+	}
+
+	@Override
+	public <T> T readObject(ByteBuffer source, Class<T> objectType) throws ParserException, XMLStreamException, ValidationException {
+		return readObject(source, objectType, null);
+	}
+
+	@Override
+	public <T> T readObject(Path source, Class<T> objectType) throws IOException, ParserException, XMLStreamException, ValidationException {
+		return readObject(source, objectType, null);
+	}
+
+	@Override
+	public <T> T readObject(String source, Class<T> objectType, String path) throws ParserException, XMLStreamException, ValidationException {
+		return readObject(new StringReader(source), objectType, path);
+	}
+
+	@Override
+	public <T> T readObject(InputStream source, Class<T> objectType, String path) throws ParserException, XMLStreamException,
+			ValidationException {
+		ParserListener listener = configuration.getListener();
+		if (listener == null) {
+			return readObject(inputFactory.createXMLStreamReader(source), objectType, path);
+		}
+		CountingInputStream counting = new CountingInputStream(source);
+		try {
+			return readObject(inputFactory.createXMLStreamReader(counting), objectType, path);
+		} finally {
+			listener.bytesRead(counting.getCount());
+		}
+	}
+
+	@Override
+	public <T> T readObject(Reader source, Class<T> objectType, String path) throws ParserException, XMLStreamException, ValidationException {
+		return readObject(inputFactory.createXMLStreamReader(source), objectType, path);
+	}
+
+	@Override
+	public <T> T readObject(ByteBuffer source, Class<T> objectType, String path) throws ParserException, XMLStreamException,
+			ValidationException {
+		ParserListener listener = configuration.getListener();
+		if (listener != null) {
+			listener.bytesRead(source.remaining());
+		}
+		return readObject(source, objectType, path, null);
+	}
+
+	/**
+	 * Reads through the compiled reader when it is enabled and the encoding is
+	 * UTF-8, starting over with StAX when the document uses markup it does not
+	 * support.
+	 */
+	private <T> T readObject(ByteBuffer source, Class<T> objectType, String path, String encoding) throws ParserException,
+			XMLStreamException, ValidationException {
+		if (isCompiled(encoding)) {
+			try {
+				return readObject(new CompiledXmlReader(source, getNameTable(objectType)), objectType, path);
+			} catch (UnsupportedMarkupException e) {
+				// read with StAX
 			}
-			if (Arrays.stream(target.value()).allMatch(t -> t.equals(ElementType.TYPE))) {
-				ALLOWED_CLASS_ANNOTATIONS.add(annotation);
+		}
+		return readObject(createReader(source, encoding), objectType, path);
+	}
+
+	private boolean isCompiled(String encoding) {
+		return configuration.isCompiledReader() && (encoding == null || StandardCharsets.UTF_8.name().equalsIgnoreCase(encoding));
+	}
+
+	private XMLStreamReader createReader(ByteBuffer source, String encoding) throws XMLStreamException {
+		InputStream stream = new ByteBufferInputStream(source);
+		return encoding == null ? inputFactory.createXMLStreamReader(stream) : inputFactory.createXMLStreamReader(stream, encoding);
+	}
+
+	@Override
+	public <T> T readObject(Path source, Class<T> objectType, String path) throws IOException, ParserException, XMLStreamException,
+			ValidationException {
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				try (InputStream stream = Channels.newInputStream(channel)) {
+					return readObject(stream, objectType, path);
+				}
 			}
+			return readObject(channel.map(MapMode.READ_ONLY, 0, channel.size()), objectType, path);
 		}
 	}
 
-	private static boolean isAllowedType(Class<?> type) {
-		return AllowedTypes.getType(type).isPresent();
+	@Override
+	public <T> T readInto(String source, T target) throws ParserException, XMLStreamException, ValidationException {
+		return readInto(new StringReader(source), target);
 	}
 
-	@SuppressWarnings({ "unchecked" })
 	@Override
-	public <T> T readObject(String source, Class<T> objectType) throws ParserException, XMLStreamException, ValidationException {
-		XMLInputFactory factory = XMLInputFactory.newInstance();
-		XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)));
-		String currentName = "";
-		ElementDescription element = null;
-		NavigableMap<String, T> elementTree = Maps.newTreeMap();
-		HashMap<String, HashMap<String, ElementDescription>> objectElementsMap = Maps.newHashMap();
+	public <T> T readInto(InputStream source, T target) throws ParserException, XMLStreamException, ValidationException {
+		ParserListener listener = configuration.getListener();
+		if (listener == null) {
+			return readInto(inputFactory.createXMLStreamReader(source), target);
+		}
+		CountingInputStream counting = new CountingInputStream(source);
+		try {
+			return readInto(inputFactory.createXMLStreamReader(counting), target);
+		} finally {
+			listener.bytesRead(counting.getCount());
+		}
+	}
+
+	@Override
+	public <T> T readInto(Reader source, T target) throws ParserException, XMLStreamException, ValidationException {
+		return readInto(inputFactory.createXMLStreamReader(source), target);
+	}
+
+	@Override
+	public <T> T readInto(ByteBuffer source, T target) throws ParserException, XMLStreamException, ValidationException {
+		ParserListener listener = configuration.getListener();
+		if (listener != null) {
+			listener.bytesRead(source.remaining());
+		}
+		if (isCompiled(null)) {
+			try {
+				return readInto(new CompiledXmlReader(source, getNameTable(target.getClass())), target);
+			} catch (UnsupportedMarkupException e) {
+				// read with StAX
+			}
+		}
+		return readInto(createReader(source, null), target);
+	}
+
+	/**
+	 * Rebinds an existing graph in place. Fields of the target and of reused
+	 * nested objects are reset first; nested objects and {@code ArrayList}s
+	 * already in the graph are reused instead of being created again.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T readInto(XMLStreamReader reader, T target) throws ParserException, XMLStreamException, ValidationException {
+		try {
+			return bind(reader, (Class<T>) target.getClass(), target);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Binds the whole document, or only the element selected by an absolute
+	 * path of local names such as {@code /Order/Lines}. Subtrees off the path are
+	 * skipped without being bound; {@code null} is returned when the path does
+	 * not exist.
+	 */
+	private <T> T readObject(XMLStreamReader reader, Class<T> objectType, String path) throws ParserException, XMLStreamException,
+			ValidationException {
+		try {
+			if (path != null && !navigate(reader, steps(path))) {
+				return null;
+			}
+			return bind(reader, objectType, null);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static String[] steps(String path) {
+		if (!path.startsWith("/") || path.length() == 1 || path.contains("//")) {
+			throw new IllegalArgumentException("Path has to be absolute, for example /Order/Lines: " + path);
+		}
+		return path.substring(1).split("/");
+	}
+
+	private static boolean navigate(XMLStreamReader reader, String[] steps) throws XMLStreamException {
+		int matched = 0;
 		while (reader.hasNext()) {
 			int event = reader.next();
-			switch (event) {
-			case XMLStreamConstants.START_ELEMENT:
-				if (elementTree.isEmpty()) {
-					HashMap<String, ElementDescription> elements = getObjectElements(objectType);
-					element = elements.get(reader.getLocalName());
-					if (element == null && !configuration.isIgnoreNotAnnotatedElements()) {
-						throw new NoSuchElementException(reader.getLocalName());
-					}
-					objectElementsMap.put(reader.getLocalName(), elements);
-					try {
-						elementTree.put(reader.getLocalName(), objectType.newInstance());
-					} catch (InstantiationException | IllegalAccessException e) {
-						throw new NotAllowedTypeException(currentName, element.getGenericType());
-					}
-				}
-				element = objectElementsMap.get(elementTree.lastEntry().getKey()).get(reader.getLocalName());
-				if (element == null) {
-					if (!configuration.isIgnoreNotAnnotatedElements())
-						throw new NoSuchElementException(reader.getLocalName());
-					break;
-				}
-				switch (element.getType()) {
-				case ELEMENT:
-					currentName = reader.getLocalName();
-					if (!element.getGenericType().isPrimitive() && !isAllowedType(element.getGenericType())) {
-						Class<?> c = null;
-						try {
-							c = Class.forName(element.getGenericType().getTypeName());
-							elementTree.put(currentName, (T) c.newInstance());
-						} catch (Exception e) {
-							throw new NotAllowedTypeException(currentName, element.getGenericType());
-						}
-						objectElementsMap.put(currentName, getObjectElements(c));
-					}
-					break;
-				default:
-					break;
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				if (!steps[matched].equals(reader.getLocalName())) {
+					skipSubtree(reader);
+				} else if (++matched == steps.length) {
+					return true;
 				}
-				break;
-			case XMLStreamConstants.CHARACTERS:
-				if (element != null) {
-					Entry<String, T> entry = elementTree.lastEntry();
-					Field field;
-					try {
-						field = entry.getValue().getClass().getDeclaredField(objectElementsMap.get(entry.getKey()).get(currentName).getFieldName());
-					} catch (NoSuchFieldException | SecurityException e) {
-						throw (ParserException) e.getCause();
-					}
-					try {
-						setFieldValue(field, entry.getValue(), reader.getText().trim(), element);
-					} catch (IllegalArgumentException | IllegalAccessException e) {
-						throw (ParserException) e.getCause();
-					}
+			} else if (event == XMLStreamConstants.END_ELEMENT && --matched < 0) {
+				return false;
+			}
+		}
+		return false;
+	}
 
-				}
-				break;
-			case XMLStreamConstants.END_ELEMENT:
-				if (element != null) {
-					element = objectElementsMap.get(elementTree.lastEntry().getKey()).get(reader.getLocalName());
-					if (element == null) {
-						String key = (String) elementTree.keySet().toArray()[elementTree.size() - 2];
-						element = objectElementsMap.get(key).get(reader.getLocalName());
-					}
-					if (elementTree.size() > 1) {
-						switch (element.getType()) {
-						case ELEMENT:
-							if (!element.getGenericType().isPrimitive() && !isAllowedType(element.getGenericType())) {
-								try {
-									setElement(elementTree, objectElementsMap);
-								} catch (NoSuchFieldException e) {
-									throw (ParserException) e.getCause();
-								}
-								elementTree.remove(elementTree.lastEntry().getKey());
-							}
-							break;
-						case ROOT:
-							try {
-								setElement(elementTree, objectElementsMap);
-							} catch (NoSuchFieldException e) {
-								throw (ParserException) e.getCause();
-							}
-							elementTree.remove(elementTree.lastEntry().getKey());
-							break;
-						default:
-							break;
-						}
-					}
-				}
-				break;
+	/**
+	 * Moves the reader from a start tag to its matching end tag, only counting
+	 * depth on the way.
+	 */
+	private static void skipSubtree(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
 			}
 		}
-		return elementTree.lastEntry().getValue();
 	}
 
-	private <T> void setElement(NavigableMap<String, T> elementTree, HashMap<String, HashMap<String, ElementDescription>> objectElementsMap)
-			throws NoSuchFieldException, ParserException, ValidationException {
-		String key = (String) elementTree.keySet().toArray()[elementTree.size() - 2];
-		Field field = elementTree.get(key).getClass()
-				.getDeclaredField(objectElementsMap.get(key).get(elementTree.lastEntry().getKey()).getFieldName());
-		field.setAccessible(true);
-		validateField(elementTree.lastEntry().getValue(), field);
+	@Override
+	public <T> Stream<T> readStream(InputStream source, String recordElement, Class<T> objectType) throws XMLStreamException {
+		ParserListener listener = configuration.getListener();
+		CountingInputStream counting = listener == null ? null : new CountingInputStream(source);
+		XMLStreamReader reader = inputFactory.createXMLStreamReader(counting == null ? source : counting);
+		RecordIterator<T> records = new RecordIterator<>(reader, recordElement, r -> bind(r, objectType, null));
+		Stream<T> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL),
+				false).onClose(records::close);
+		return counting == null ? stream : stream.onClose(() -> listener.bytesRead(counting.getCount()));
+	}
+
+	@Override
+	public <T> void readParallel(InputStream source, String recordElement, Class<T> objectType, ParallelOptions options,
+			Consumer<? super T> consumer) throws IOException, XMLStreamException, ParserException, ValidationException {
+		String encoding = options.getCharset().name();
+		ParserListener listener = configuration.getListener();
+		CountingInputStream counting = listener == null ? null : new CountingInputStream(source);
+		try {
+			new ParallelRecordReader<T>(recordElement, options, chunk -> readObject(chunk, objectType, null, encoding))
+					.read(counting == null ? source : counting, consumer);
+		} finally {
+			if (counting != null) {
+				listener.bytesRead(counting.getCount());
+			}
+		}
+	}
+
+	@Override
+	public <T> void readParallel(Path source, String recordElement, Class<T> objectType, ParallelOptions options,
+			Consumer<? super T> consumer) throws IOException, XMLStreamException, ParserException, ValidationException {
+		String encoding = options.getCharset().name();
+		new MappedRecordReader<T>(recordElement, options, chunk -> readObject(chunk, objectType, null, encoding)).read(source, consumer);
+		ParserListener listener = configuration.getListener();
+		if (listener != null) {
+			listener.bytesRead(Files.size(source));
+		}
+	}
+
+	@Override
+	public <T> XmlFeeder<T> newFeeder(Class<T> objectType, Consumer<? super T> consumer) throws ParserException {
+		return newFeeder(getBindingPlan(objectType).getRootName(), objectType, consumer);
+	}
+
+	@Override
+	public <T> XmlFeeder<T> newFeeder(String recordElement, Class<T> objectType, Consumer<? super T> consumer) {
+		return new XmlFeeder<>(this, recordElement, objectType, consumer);
+	}
+
+	@Override
+	public <T> void writeObject(T object, OutputStream target) throws XMLStreamException, ParserException {
+		String encoding = StandardCharsets.UTF_8.name();
+		write(outputFactory.createXMLStreamWriter(target, encoding), encoding, null, Iterators.singletonIterator(object));
+	}
+
+	@Override
+	public <T> void writeObject(T object, Writer target) throws XMLStreamException, ParserException {
+		write(outputFactory.createXMLStreamWriter(target), null, null, Iterators.singletonIterator(object));
+	}
+
+	@Override
+	public <T> void writeStream(Stream<? extends T> records, String rootElement, OutputStream target) throws XMLStreamException,
+			ParserException {
+		String encoding = StandardCharsets.UTF_8.name();
+		write(outputFactory.createXMLStreamWriter(target, encoding), encoding, rootElement, records.iterator());
+	}
+
+	@Override
+	public <T> void writeStream(Stream<? extends T> records, String rootElement, Writer target) throws XMLStreamException, ParserException {
+		write(outputFactory.createXMLStreamWriter(target), null, rootElement, records.iterator());
+	}
+
+	private void write(XMLStreamWriter writer, String encoding, String rootElement, Iterator<?> objects) throws XMLStreamException,
+			ParserException {
 		try {
-			field.set(elementTree.get(key), elementTree.lastEntry().getValue());
-		} catch (IllegalArgumentException | IllegalAccessException e) {
-			throw (ParserException) e.getCause();
+			if (encoding == null) {
+				writer.writeStartDocument();
+			} else {
+				writer.writeStartDocument(encoding, "1.0");
+			}
+			if (rootElement != null) {
+				writer.writeStartElement(rootElement);
+			}
+			Marshaller marshaller = new Marshaller(this, writer);
+			while (objects.hasNext()) {
+				marshaller.write(objects.next());
+			}
+			writer.writeEndDocument();
+			writer.flush();
+		} finally {
+			writer.close();
 		}
 	}
 
-	private <T> void setFieldValue(Field field, T value, String text, ElementDescription element) throws NumberFormatException,
-			IllegalArgumentException, IllegalAccessException, ValidationException, NotAllowedTypeException {
-		field.setAccessible(true);
-		if (element.getGenericType().isPrimitive()) {
-			if (!AllowedPrimitiveTypes.getPrimitiveType(element.getGenericType()).isPresent()) {
-				throw new NotAllowedTypeException(field.getName(), element.getGenericType());
+	private <T> T bind(XMLStreamReader reader, Class<T> objectType, T target) throws ParserException, XMLStreamException,
+			ValidationException {
+		Unmarshaller<T> unmarshaller = new Unmarshaller<>(this, objectType, target);
+		ParserListener listener = configuration.getListener();
+		long start = listener == null ? 0 : System.nanoTime();
+		try {
+			T result = bind(reader, unmarshaller);
+			if (listener != null) {
+				listener.documentBound(objectType, unmarshaller.getElements(), System.nanoTime() - start, unmarshaller.getConversionNanos());
 			}
-			switch (AllowedPrimitiveTypes.getPrimitiveType(element.getGenericType()).get()) {
-			case INT:
-				setIntValue(field, value, text);
-				break;
-			case DOUBLE:
-				setDoubleValue(field, value, text);
-				break;
-			case FLOAT:
-				setFloatValue(field, value, text);
+			return result;
+		} catch (UnsupportedMarkupException e) {
+			unmarshaller.abandon();
+			throw e;
+		} catch (ParserException | XMLStreamException | ValidationException | RuntimeException e) {
+			if (listener != null) {
+				listener.failed(objectType, e);
+			}
+			throw e;
+		}
+	}
+
+	private <T> T bind(XMLStreamReader reader, Unmarshaller<T> unmarshaller) throws ParserException, XMLStreamException, ValidationException {
+		int event = reader.getEventType();
+		while (true) {
+			switch (event) {
+			case XMLStreamConstants.START_ELEMENT:
+				unmarshaller.startElement(reader.getLocalName(), reader);
+				if (unmarshaller.isSkipping()) {
+					skipSubtree(reader);
+					unmarshaller.endElement();
+				}
 				break;
-			case BOOLEAN:
-				setBooleanValue(field, value, text);
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				unmarshaller.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
 				break;
-			case LONG:
-				setLongValue(field, value, text);
+			case XMLStreamConstants.END_ELEMENT:
+				unmarshaller.endElement();
 				break;
 			default:
 				break;
 			}
-		} else {
-			if (!AllowedTypes.getType(element.getGenericType()).isPresent()) {
-				throw new NotAllowedTypeException(field.getName(), element.getGenericType());
-			}
-			switch (AllowedTypes.getType(element.getGenericType()).get()) {
-			case INT:
-				setIntValue(field, value, text);
-				break;
-			case DOUBLE:
-				setDoubleValue(field, value, text);
-				break;
-			case FLOAT:
-				setFloatValue(field, value, text);
-				break;
-			case BOOLEAN:
-				setBooleanValue(field, value, text);
-				break;
-			case LONG:
-				setLongValue(field, value, text);
-				break;
-			case STRING:
-				validateField(text, field);
-				field.set(value, text);
-				break;
-			default:
+			if (unmarshaller.isComplete() || !reader.hasNext()) {
 				break;
 			}
+			event = reader.next();
 		}
+		return unmarshaller.getResult();
 	}
 
-	private <T> void setIntValue(Field field, T value, String text) throws NumberFormatException, IllegalArgumentException, IllegalAccessException,
-			ValidationException {
-		Integer val = Integer.parseInt(text);
-		validateField(val, field);
-		field.set(value, val);
+	public BindingPlanCache getBindingPlanCache() {
+		BindingPlanCache cache = bindingPlanCache;
+		if (cache == null) {
+			synchronized (this) {
+				if (bindingPlanCache == null) {
+					configuration.freeze();
+					validatorRegistry.freeze();
+					bindingPlanCache = new BindingPlanCache(configuration.getBindingPlanCacheSize());
+				}
+				cache = bindingPlanCache;
+			}
+		}
+		return cache;
 	}
 
-	private <T> void setDoubleValue(Field field, T value, String text) throws NumberFormatException, IllegalArgumentException,
-			IllegalAccessException, ValidationException {
-		Double val = Double.parseDouble(text);
-		validateField(val, field);
-		field.set(value, val);
+	public void warmUp(Class<?>... types) throws ParserException {
+		Set<Class<?>> visited = Sets.newHashSet();
+		for (Class<?> type : types) {
+			warmUp(type, visited);
+		}
 	}
 
-	private <T> void setFloatValue(Field field, T value, String text) throws NumberFormatException, IllegalArgumentException, IllegalAccessException,
-			ValidationException {
-		Float val = Float.parseFloat(text);
-		validateField(val, field);
-		field.set(value, val);
+	/**
+	 * Writes the binding plans of the types, and of every type reachable from
+	 * them, to a binary snapshot that {@link #readSnapshot(InputStream)} loads
+	 * without processing annotations again.
+	 */
+	public void writeSnapshot(OutputStream target, Class<?>... types) throws IOException, ParserException {
+		Set<Class<?>> visited = Sets.newLinkedHashSet();
+		for (Class<?> type : types) {
+			warmUp(type, visited);
+		}
+		List<BindingPlan> plans = new ArrayList<>(visited.size());
+		for (Class<?> type : visited) {
+			plans.add(getBindingPlan(type));
+		}
+		BindingPlanSnapshot.write(this, plans, target);
 	}
 
-	private <T> void setBooleanValue(Field field, T value, String text) throws IllegalArgumentException, IllegalAccessException, ValidationException {
-		Boolean val = Boolean.parseBoolean(text);
-		validateField(val, field);
-		field.set(value, val);
+	/**
+	 * Puts the plans of a snapshot into the binding plan cache. Plans of classes
+	 * changed since the snapshot was written are left out and built from
+	 * annotations when first used.
+	 * 
+	 * @return the number of plans loaded
+	 */
+	public int readSnapshot(InputStream source) throws IOException, ParserException {
+		List<BindingPlan> plans = BindingPlanSnapshot.read(this, source);
+		BindingPlanCache cache = getBindingPlanCache();
+		for (BindingPlan plan : plans) {
+			cache.get(plan.getType(), type -> plan);
+		}
+		return plans.size();
 	}
 
-	private <T> void setLongValue(Field field, T value, String text) throws NumberFormatException, IllegalArgumentException, IllegalAccessException,
-			ValidationException {
-		Long val = Long.parseLong(text);
-		validateField(val, field);
-		field.set(value, val);
+	private void warmUp(Class<?> type, Set<Class<?>> visited) throws ParserException {
+		if (!visited.add(type)) {
+			return;
+		}
+		BindingPlan plan = getBindingPlan(type);
+		XmlSubtypes subtypes = type.getAnnotation(XmlSubtypes.class);
+		if (subtypes != null) {
+			for (XmlSubtypes.Type subtype : subtypes.value()) {
+				warmUp(subtype.type(), visited);
+			}
+		}
+		for (ElementDescription element : plan.getElements().values()) {
+			if (element.getType() == ValueType.ELEMENT && !element.isSimpleValue() && element.getGenericType().isAnnotationPresent(XmlRoot.class)) {
+				warmUp(element.getGenericType(), visited);
+			}
+		}
+	}
+
+	BindingPlan getBindingPlan(Class<?> type) throws ParserException {
+		return getBindingPlanCache().get(type, this::createBindingPlan);
+	}
+
+	/**
+	 * @return the element and attribute names reachable from the root type, so
+	 *         the compiled reader can match them without decoding
+	 */
+	NameTable getNameTable(Class<?> type) throws ParserException {
+		BindingPlan plan = getBindingPlan(type);
+		NameTable names = plan.getNameTable();
+		if (names == null) {
+			Set<String> collected = Sets.newHashSet();
+			collectNames(plan, collected, Sets.newHashSet());
+			names = new NameTable(collected);
+			plan.setNameTable(names);
+		}
+		return names;
+	}
+
+	private void collectNames(BindingPlan plan, Set<String> names, Set<Class<?>> visited) throws ParserException {
+		if (!visited.add(plan.getType())) {
+			return;
+		}
+		names.add(plan.getRootName());
+		names.addAll(plan.getElements().keySet());
+		names.addAll(plan.getAttributes().keySet());
+		if (plan.getDiscriminator() != null) {
+			names.add(plan.getDiscriminator());
+		}
+		for (Class<?> subtype : plan.getSubtypes()) {
+			collectNames(getBindingPlan(subtype), names, visited);
+		}
+		for (ElementDescription element : plan.getElements().values()) {
+			if (element.getType() == ValueType.ELEMENT && !element.isSimpleValue()) {
+				try {
+					collectNames(getChildPlan(element), names, visited);
+				} catch (ParserException e) {
+					// reported when the element is bound
+				}
+			}
+		}
+	}
+
+	/**
+	 * Nested plans are linked to the element, so binding does not look them up
+	 * in the cache; the links are dropped whenever the cache evicts a plan.
+	 */
+	/**
+	 * @return the plan of the nearest superclass that lists the type of the
+	 *         plan in its {@link XmlSubtypes}, or {@code null}; root objects of
+	 *         such a subtype are written in the form of their base type
+	 */
+	BindingPlan getBasePlan(BindingPlan plan) throws ParserException {
+		Class<?> base = plan.getBaseType();
+		if (base == null) {
+			base = findBaseType(plan.getType());
+			plan.setBaseType(base);
+		}
+		return base == plan.getType() ? null : getBindingPlan(base);
+	}
+
+	private static Class<?> findBaseType(Class<?> type) {
+		for (Class<?> superclass = type.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+			XmlSubtypes subtypes = superclass.getAnnotation(XmlSubtypes.class);
+			if (subtypes == null) {
+				continue;
+			}
+			for (XmlSubtypes.Type subtype : subtypes.value()) {
+				if (subtype.type() == type) {
+					return superclass;
+				}
+			}
+		}
+		return type;
+	}
+
+	BindingPlan getChildPlan(ElementDescription element) throws ParserException {
+		BindingPlanCache cache = getBindingPlanCache();
+		long generation = cache.getGeneration();
+		BindingPlan plan = element.getChildPlan(generation);
+		if (plan == null) {
+			plan = cache.get(element.getGenericType(), this::createBindingPlan);
+			element.setChildPlan(plan, generation);
+		}
+		return plan;
 	}
 
-	private <T> HashMap<String, ElementDescription> getObjectElements(Class<T> object) throws ElementNotAnnotatedException, WrongAnnotationException,
-			NotAllowedTypeException {
+	private BindingPlan createBindingPlan(Class<?> object) throws ElementNotAnnotatedException, WrongAnnotationException {
+		ParserListener listener = configuration.getListener();
+		if (listener == null) {
+			return buildBindingPlan(object);
+		}
+		long start = System.nanoTime();
+		BindingPlan plan = buildBindingPlan(object);
+		listener.bindingPlanCreated(object, System.nanoTime() - start);
+		return plan;
+	}
+
+	private BindingPlan buildBindingPlan(Class<?> object) throws ElementNotAnnotatedException, WrongAnnotationException {
 		Set<Class<? extends Annotation>> classParserAnnotations = Sets.intersection(ALLOWED_CLASS_ANNOTATIONS, Arrays.stream(object.getAnnotations())
 				.map(annotation -> {
 					return annotation.annotationType();
 				}).collect(Collectors.toSet()));
 		validateElementAnnotations(object.getName(), classParserAnnotations, !configuration.isIgnoreNotAnnotatedElements());
 		String name = object.getAnnotation(XmlRoot.class) == null ? "" : object.getAnnotation(XmlRoot.class).name();
-		HashMap<String, ElementDescription> objectElements = Maps.newHashMap();
-		objectElements.put(name.isEmpty() ? object.getSimpleName() : name,
-				ElementDescription.builder().genericType(object.getClass()).fieldName(object.getSimpleName()).type(ValueType.ROOT).build());
-		Arrays.stream(object.getDeclaredFields()).forEach(
-				field -> {
+		String rootName = name.isEmpty() ? object.getSimpleName() : name;
+		Map<String, ElementDescription> objectElements = Maps.newLinkedHashMap();
+		Map<String, ElementDescription> objectAttributes = Maps.newLinkedHashMap();
+		GeneratedBinder<?> binder = findGeneratedBinder(object);
+		List<Field> fields = new ArrayList<>();
+		for (Class<?> type = object; type != null && type != Object.class; type = type.getSuperclass()) {
+			fields.addAll(0, Arrays.asList(type.getDeclaredFields()));
+		}
+		IntStream.range(0, fields.size()).forEach(
+				index -> {
+					Field field = fields.get(index);
 					Set<Class<? extends Annotation>> fieldParserAnnotations = Sets.intersection(ALLOWED_FIELD_ANNOTATIONS,
 							Arrays.stream(field.getAnnotations()).map(annotation -> {
 								return annotation.annotationType();
 							}).collect(Collectors.toSet()));
 					validateElementAnnotations(field.getName(), fieldParserAnnotations, !configuration.isIgnoreNotAnnotatedElements());
-					putFieldToObjectElements(field, objectElements);
+					GeneratedBinder<?> fieldBinder = field.getDeclaringClass() == object ? binder : null;
+					putFieldToObjectElements(field, index, objectElements, fieldBinder);
+					putFieldToObjectAttributes(field, objectAttributes, fieldBinder);
 				});
-		return objectElements;
+		XmlSubtypes subtypes = object.getAnnotation(XmlSubtypes.class);
+		Map<String, Class<?>> subtypeTypes = Maps.newLinkedHashMap();
+		if (subtypes != null) {
+			for (XmlSubtypes.Type subtype : subtypes.value()) {
+				subtypeTypes.put(subtype.name(), subtype.type());
+			}
+		}
+		String discriminator = subtypes == null || subtypes.attribute().isEmpty() ? null : subtypes.attribute();
+		return new BindingPlan(object, describeRoot(object, rootName), objectElements, objectAttributes, binder, discriminator, subtypeTypes);
 	}
 
-	private void putFieldToObjectElements(Field field, HashMap<String, ElementDescription> objectElements) {
-		ElementDescription elementDescription = ElementDescription.builder().build();
+	static ElementDescription describeRoot(Class<?> type, String rootName) {
+		return ElementDescription.builder().name(rootName).genericType(type).fieldName(type.getSimpleName()).type(ValueType.ROOT).build();
+	}
+
+	static GeneratedBinder<?> findGeneratedBinder(Class<?> type) {
+		try {
+			Class<?> binder = Class.forName(GeneratedBinder.binderName(type), true, type.getClassLoader());
+			return GeneratedBinder.class.isAssignableFrom(binder) ? (GeneratedBinder<?>) binder.newInstance() : null;
+		} catch (ClassNotFoundException | InstantiationException | IllegalAccessException | LinkageError e) {
+			return null;
+		}
+	}
+
+	private void putFieldToObjectElements(Field field, int index, Map<String, ElementDescription> objectElements, GeneratedBinder<?> binder) {
 		if (field.getAnnotation(XmlElement.class) != null) {
+			Class<?> valueType = field.getType();
+			CollectionType collection = null;
+			if (valueType.isArray() && valueType != byte[].class && valueType != char[].class) {
+				valueType = valueType.getComponentType();
+				collection = valueType.isPrimitive() ? CollectionType.PRIMITIVE_ARRAY : CollectionType.ARRAY;
+			} else if (Collection.class.isAssignableFrom(valueType) && valueType.isAssignableFrom(ArrayList.class)) {
+				valueType = componentType(field.getGenericType());
+				collection = CollectionType.LIST;
+			}
 			XmlElement annotation = field.getAnnotation(XmlElement.class);
-			elementDescription.setType(ValueType.ELEMENT);
-			elementDescription.setFieldName(field.getName());
-			elementDescription.setGenericType(field.getType());
-			objectElements.put(annotation.name().isEmpty() ? field.getName() : annotation.name(), elementDescription);
+			String elementName = annotation.name().isEmpty() ? field.getName() : annotation.name();
+			ElementDescription.ElementDescriptionBuilder builder = describe(field, elementName, ValueType.ELEMENT, valueType, annotation.intern(),
+					validators(field), binder)
+					.collection(collection)
+					.collectionIndex(index)
+					.expectedSize(annotation.expectedSize());
+			objectElements.put(elementName, builder.build());
+			XmlSubtypes subtypes = valueType.getAnnotation(XmlSubtypes.class);
+			if (subtypes != null && subtypes.attribute().isEmpty()) {
+				for (XmlSubtypes.Type subtype : subtypes.value()) {
+					objectElements.put(subtype.name(), builder.name(subtype.name()).genericType(subtype.type()).subtype(true).build());
+				}
+			}
 		}
 	}
 
+	private void putFieldToObjectAttributes(Field field, Map<String, ElementDescription> objectAttributes, GeneratedBinder<?> binder) {
+		XmlAttribute annotation = field.getAnnotation(XmlAttribute.class);
+		if (annotation != null) {
+			String attributeName = annotation.name().isEmpty() ? field.getName() : annotation.name();
+			objectAttributes.put(attributeName, describe(field, attributeName, ValueType.ATTRIBUTE, field.getType(), annotation.intern(),
+					validators(field), binder).build());
+		}
+	}
+
+	/**
+	 * Resolves what binding a field needs apart from the position of the
+	 * element; shared by plans built from annotations and plans read from a
+	 * {@link BindingPlanSnapshot}.
+	 */
+	ElementDescription.ElementDescriptionBuilder describe(Field field, String name, ValueType type, Class<?> valueType, boolean intern,
+			List<Class<? extends Validator<?>>> validators, GeneratedBinder<?> binder) {
+		FieldAccessor accessor = binder == null ? null : binder.getAccessor(field.getName());
+		return ElementDescription.builder()
+				.name(name)
+				.type(type)
+				.fieldName(field.getName())
+				.genericType(valueType)
+				.field(field)
+				.accessor(accessor != null ? accessor : configuration.getAccessorStrategy().getFactory().create(field))
+				.validators(validators)
+				.validatorInstances(resolveValidators(validators))
+				.converter(converter(valueType, intern))
+				.primitiveType(AllowedPrimitiveTypes.getPrimitiveType(valueType).orElse(null));
+	}
+
+	private static List<Class<? extends Validator<?>>> validators(Field field) {
+		Valid valid = field.getAnnotation(Valid.class);
+		return valid == null ? Collections.emptyList() : Arrays.asList(valid.value());
+	}
+
+	private TypeConverter<?> converter(Class<?> valueType, boolean intern) {
+		if (valueType == String.class && (intern || configuration.isInternStrings())) {
+			return configuration.getStringPool();
+		}
+		return configuration.getConverters().get(valueType);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Validator<Object>[] resolveValidators(List<Class<? extends Validator<?>>> validators) {
+		Validator<Object>[] instances = (Validator<Object>[]) new Validator<?>[validators.size()];
+		for (int i = 0; i < instances.length; i++) {
+			instances[i] = validatorRegistry.get(validators.get(i));
+		}
+		return instances;
+	}
+
+	private static Class<?> componentType(Type listType) {
+		if (listType instanceof ParameterizedType) {
+			Type argument = ((ParameterizedType) listType).getActualTypeArguments()[0];
+			if (argument instanceof WildcardType) {
+				argument = ((WildcardType) argument).getUpperBounds()[0];
+			}
+			if (argument instanceof Class) {
+				return (Class<?>) argument;
+			}
+		}
+		return Object.class;
+	}
+
 	private static void validateElementAnnotations(String elementName, Set<Class<? extends Annotation>> fieldParserAnnotations, boolean performCheck)
 			throws WrongAnnotationException, ElementNotAnnotatedException {
 		if (performCheck && fieldParserAnnotations.size() == 0)
@@ -315,24 +776,21 @@ public class XmlParser implements ObjectParser {
 			throw new WrongAnnotationException(fieldParserAnnotations, elementName);
 	}
 
-	@SuppressWarnings("unchecked")
-	private <T> void validateField(T val, Field field) throws ValidationException {
-		if (field.getAnnotation(Valid.class) == null) {
-			return;
-		}
-		Class<? extends Validator<?>>[] validators = field.getAnnotation(Valid.class).value();
-		for(int i=0; i<validators.length; i++){
-			Validator<T> validatorObject = (Validator<T>) ACTIVE_VALIDATORS.get(validators[i]);
-			if (validatorObject == null) {
+	void validateField(Object val, ElementDescription element) throws ValidationException {
+		Validator<Object>[] validators = element.getValidatorInstances();
+		ParserListener listener = configuration.getListener();
+		for (int i = 0; i < validators.length; i++) {
+			if (listener == null) {
+				validators[i].validate(val, element.getField());
+			} else {
+				long start = System.nanoTime();
 				try {
-					validatorObject = (Validator<T>) validators[i].newInstance();
-				} catch (InstantiationException | IllegalAccessException e) {
-					throw (RuntimeException)e.getCause();
+					validators[i].validate(val, element.getField());
+				} finally {
+					listener.validated(validators[i].getClass(), System.nanoTime() - start);
 				}
-				ACTIVE_VALIDATORS.put(validators[i], validatorObject);
 			}
-			validatorObject.validate(val, field);
-		};
+		}
 	}
 
 }
@@ -0,0 +1,69 @@
+package putko.parser.access;
+
+/**
+ * Base class for generated accessors, which only override the setters and
+ * getters that match the type of their field.
+ */
+public abstract class AbstractFieldAccessor implements FieldAccessor {
+
+	@Override
+	public void set(Object target, Object value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setInt(Object target, int value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setLong(Object target, long value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setDouble(Object target, double value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setFloat(Object target, float value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setBoolean(Object target, boolean value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Object get(Object target) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int getInt(Object target) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public long getLong(Object target) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public double getDouble(Object target) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public float getFloat(Object target) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean getBoolean(Object target) {
+		throw new UnsupportedOperationException();
+	}
+
+}
@@ -0,0 +1,10 @@
+package putko.parser.access;
+
+import java.lang.reflect.Field;
+
+@FunctionalInterface
+public interface AccessorFactory {
+
+	FieldAccessor create(Field field);
+
+}
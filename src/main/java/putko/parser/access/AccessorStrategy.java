@@ -0,0 +1,17 @@
+package putko.parser.access;
+
+import lombok.Getter;
+
+public enum AccessorStrategy {
+
+	REFLECTION(new ReflectiveAccessorFactory()),
+	METHOD_HANDLE(new MethodHandleAccessorFactory());
+	
+	@Getter
+	private final AccessorFactory factory;
+	
+	AccessorStrategy(AccessorFactory factory){
+		this.factory = factory;
+	}
+	
+}
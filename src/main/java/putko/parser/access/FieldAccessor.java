@@ -0,0 +1,29 @@
+package putko.parser.access;
+
+public interface FieldAccessor {
+
+	void set(Object target, Object value);
+
+	void setInt(Object target, int value);
+
+	void setLong(Object target, long value);
+
+	void setDouble(Object target, double value);
+
+	void setFloat(Object target, float value);
+
+	void setBoolean(Object target, boolean value);
+
+	Object get(Object target);
+
+	int getInt(Object target);
+
+	long getLong(Object target);
+
+	double getDouble(Object target);
+
+	float getFloat(Object target);
+
+	boolean getBoolean(Object target);
+
+}
@@ -0,0 +1,33 @@
+package putko.parser.access;
+
+/**
+ * Binder generated at build time by
+ * {@link putko.parser.processor.BinderProcessor} for an
+ * {@link putko.parser.annotation.XmlRoot} class. It lives in the package of the
+ * bound class and is named after its binary name with {@code $} replaced by
+ * {@code _} followed by {@link #SUFFIX}.
+ */
+public interface GeneratedBinder<T> {
+
+	String SUFFIX = "_XmlBinder";
+
+	Class<T> getType();
+
+	/**
+	 * @return a new instance, or {@code null} when the class has no accessible
+	 *         no-arg constructor
+	 */
+	T newInstance();
+
+	/**
+	 * @return a direct accessor for the field, or {@code null} when the field can
+	 *         only be written reflectively
+	 */
+	FieldAccessor getAccessor(String fieldName);
+
+	static String binderName(Class<?> type) {
+		String packagePrefix = type.getPackage() == null ? "" : type.getPackage().getName() + ".";
+		return packagePrefix + type.getName().substring(packagePrefix.length()).replace('$', '_') + SUFFIX;
+	}
+
+}
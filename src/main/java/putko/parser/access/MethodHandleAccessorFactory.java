@@ -0,0 +1,173 @@
+package putko.parser.access;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Resolves every field once into a setter and a getter {@link MethodHandle}
+ * adapted to {@code (Object, value)} and {@code (Object)value}. Primitive fields
+ * keep their primitive type, so {@code invokeExact} never boxes.
+ */
+public class MethodHandleAccessorFactory implements AccessorFactory {
+
+	@Override
+	public FieldAccessor create(Field field) {
+		field.setAccessible(true);
+		Class<?> valueType = field.getType().isPrimitive() ? field.getType() : Object.class;
+		try {
+			MethodHandle setter = MethodHandles.lookup().unreflectSetter(field)
+					.asType(MethodType.methodType(void.class, Object.class, valueType));
+			MethodHandle getter = MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(valueType, Object.class));
+			return new MethodHandleAccessor(setter, getter);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Cannot access field " + field.getName(), e);
+		}
+	}
+
+	private static class MethodHandleAccessor implements FieldAccessor {
+
+		private final MethodHandle setter;
+		private final MethodHandle getter;
+
+		MethodHandleAccessor(MethodHandle setter, MethodHandle getter) {
+			this.setter = setter;
+			this.getter = getter;
+		}
+
+		@Override
+		public void set(Object target, Object value) {
+			try {
+				setter.invokeExact(target, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setInt(Object target, int value) {
+			try {
+				setter.invokeExact(target, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setLong(Object target, long value) {
+			try {
+				setter.invokeExact(target, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setDouble(Object target, double value) {
+			try {
+				setter.invokeExact(target, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setFloat(Object target, float value) {
+			try {
+				setter.invokeExact(target, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setBoolean(Object target, boolean value) {
+			try {
+				setter.invokeExact(target, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public Object get(Object target) {
+			try {
+				return (Object) getter.invokeExact(target);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public int getInt(Object target) {
+			try {
+				return (int) getter.invokeExact(target);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public long getLong(Object target) {
+			try {
+				return (long) getter.invokeExact(target);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public double getDouble(Object target) {
+			try {
+				return (double) getter.invokeExact(target);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public float getFloat(Object target) {
+			try {
+				return (float) getter.invokeExact(target);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public boolean getBoolean(Object target) {
+			try {
+				return (boolean) getter.invokeExact(target);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
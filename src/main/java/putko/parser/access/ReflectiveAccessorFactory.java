@@ -0,0 +1,135 @@
+package putko.parser.access;
+
+import java.lang.reflect.Field;
+
+/**
+ * Reads and writes fields through {@link Field}. Primitive fields use the
+ * typed setters and getters, so values are not boxed.
+ */
+public class ReflectiveAccessorFactory implements AccessorFactory {
+
+	@Override
+	public FieldAccessor create(Field field) {
+		field.setAccessible(true);
+		return new ReflectiveAccessor(field);
+	}
+
+	private static class ReflectiveAccessor implements FieldAccessor {
+
+		private final Field field;
+
+		ReflectiveAccessor(Field field) {
+			this.field = field;
+		}
+
+		@Override
+		public void set(Object target, Object value) {
+			try {
+				field.set(target, value);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setInt(Object target, int value) {
+			try {
+				field.setInt(target, value);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setLong(Object target, long value) {
+			try {
+				field.setLong(target, value);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setDouble(Object target, double value) {
+			try {
+				field.setDouble(target, value);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setFloat(Object target, float value) {
+			try {
+				field.setFloat(target, value);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public void setBoolean(Object target, boolean value) {
+			try {
+				field.setBoolean(target, value);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public Object get(Object target) {
+			try {
+				return field.get(target);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public int getInt(Object target) {
+			try {
+				return field.getInt(target);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public long getLong(Object target) {
+			try {
+				return field.getLong(target);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public double getDouble(Object target) {
+			try {
+				return field.getDouble(target);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public float getFloat(Object target) {
+			try {
+				return field.getFloat(target);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public boolean getBoolean(Object target) {
+			try {
+				return field.getBoolean(target);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,19 @@
+package putko.parser.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+@Target({ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface XmlAttribute{
+    String name() default "";
+
+    /**
+     * Reads a {@code String} value through the configured string pool, so
+     * repeated values share one instance.
+     */
+    boolean intern() default false;
+}
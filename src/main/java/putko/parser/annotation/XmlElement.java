@@ -10,4 +10,16 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface XmlElement{
     String name() default "";
+    
+    /**
+     * Expected number of occurrences of a repeated element bound to a
+     * {@code List} or an array, used to size the buffer up front.
+     */
+    int expectedSize() default 0;
+
+    /**
+     * Reads a {@code String} value through the configured string pool, so
+     * repeated values share one instance.
+     */
+    boolean intern() default false;
 }
@@ -0,0 +1,31 @@
+package putko.parser.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Declares the subclasses a field of the annotated base type can hold. The
+ * subclass is picked by element name, or by the value of the discriminator
+ * {@link #attribute()} when one is given.
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface XmlSubtypes{
+    Type[] value();
+    
+    String attribute() default "";
+    
+    @Target({})
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Type{
+        /**
+         * Element name, or discriminator value when an attribute is given.
+         */
+        String name();
+        
+        Class<?> type();
+    }
+}
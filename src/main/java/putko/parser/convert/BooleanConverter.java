@@ -0,0 +1,13 @@
+package putko.parser.convert;
+
+@FunctionalInterface
+public interface BooleanConverter extends TypeConverter<Boolean> {
+
+	boolean parseBoolean(char[] text, int start, int length);
+
+	@Override
+	default Boolean fromText(char[] text, int start, int length) {
+		return parseBoolean(text, start, length);
+	}
+
+}
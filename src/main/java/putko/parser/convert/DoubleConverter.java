@@ -0,0 +1,13 @@
+package putko.parser.convert;
+
+@FunctionalInterface
+public interface DoubleConverter extends TypeConverter<Double> {
+
+	double parseDouble(char[] text, int start, int length);
+
+	@Override
+	default Double fromText(char[] text, int start, int length) {
+		return parseDouble(text, start, length);
+	}
+
+}
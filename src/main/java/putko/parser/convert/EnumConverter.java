@@ -0,0 +1,48 @@
+package putko.parser.convert;
+
+/**
+ * Matches the text against the constant names character by character, so no
+ * String is created.
+ */
+public class EnumConverter<E extends Enum<E>> implements TypeConverter<E> {
+
+	private final E[] constants;
+	private final char[][] names;
+
+	public EnumConverter(Class<E> type) {
+		this.constants = type.getEnumConstants();
+		this.names = new char[constants.length][];
+		for (int i = 0; i < constants.length; i++) {
+			names[i] = constants[i].name().toCharArray();
+		}
+	}
+
+	@Override
+	public E fromText(char[] text, int start, int length) {
+		for (int i = 0; i < names.length; i++) {
+			if (matches(names[i], text, start, length)) {
+				return constants[i];
+			}
+		}
+		throw new IllegalArgumentException("No constant " + new String(text, start, length) + " in "
+				+ constants.getClass().getComponentType().getName());
+	}
+
+	@Override
+	public String toText(E value) {
+		return value.name();
+	}
+
+	private static boolean matches(char[] name, char[] text, int start, int length) {
+		if (name.length != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (name[i] != text[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,13 @@
+package putko.parser.convert;
+
+@FunctionalInterface
+public interface FloatConverter extends TypeConverter<Float> {
+
+	float parseFloat(char[] text, int start, int length);
+
+	@Override
+	default Float fromText(char[] text, int start, int length) {
+		return parseFloat(text, start, length);
+	}
+
+}
@@ -0,0 +1,19 @@
+package putko.parser.convert;
+
+/**
+ * Converter of {@code int} values. Fields of type {@code int} require one, so
+ * their values are never boxed; {@link LongConverter},
+ * {@link DoubleConverter}, {@link FloatConverter} and {@link BooleanConverter}
+ * do the same for the other primitives.
+ */
+@FunctionalInterface
+public interface IntConverter extends TypeConverter<Integer> {
+
+	int parseInt(char[] text, int start, int length);
+
+	@Override
+	default Integer fromText(char[] text, int start, int length) {
+		return parseInt(text, start, length);
+	}
+
+}
@@ -0,0 +1,13 @@
+package putko.parser.convert;
+
+@FunctionalInterface
+public interface LongConverter extends TypeConverter<Long> {
+
+	long parseLong(char[] text, int start, int length);
+
+	@Override
+	default Long fromText(char[] text, int start, int length) {
+		return parseLong(text, start, length);
+	}
+
+}
@@ -0,0 +1,123 @@
+package putko.parser.convert;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool deduplicating repeated string values such as currency codes or
+ * statuses. Values are looked up by their characters, so a value already in
+ * the pool is returned without creating a string. The pool is a fixed size
+ * two-way set associative table: a new value replaces the older entry of its
+ * set, so it never grows. Lookups are lock-free; concurrent inserts may lose
+ * an entry, which only costs a later miss. Values longer than the maximum
+ * length are not pooled.
+ */
+public class StringPool implements TypeConverter<String> {
+
+	public static final int DEFAULT_CAPACITY = 4096;
+	public static final int DEFAULT_MAX_LENGTH = 64;
+
+	private final AtomicReferenceArray<String> entries;
+	private final int mask;
+	private final int maxLength;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public StringPool() {
+		this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+	}
+
+	/**
+	 * @param capacity
+	 *            number of values, rounded up to a power of two
+	 */
+	public StringPool(int capacity, int maxLength) {
+		if (capacity < 2 || maxLength < 0) {
+			throw new IllegalArgumentException("Capacity has to be at least 2 and the maximum length positive");
+		}
+		int size = Integer.highestOneBit(capacity - 1) << 1;
+		this.entries = new AtomicReferenceArray<>(size);
+		this.mask = size - 2;
+		this.maxLength = maxLength;
+	}
+
+	@Override
+	public String fromText(char[] text, int start, int length) {
+		if (length > maxLength) {
+			return new String(text, start, length);
+		}
+		int hash = 0;
+		for (int i = start; i < start + length; i++) {
+			hash = 31 * hash + text[i];
+		}
+		int set = (hash ^ hash >>> 16) & mask;
+		String first = entries.get(set);
+		if (matches(first, hash, text, start, length)) {
+			hits.increment();
+			return first;
+		}
+		String second = entries.get(set + 1);
+		if (matches(second, hash, text, start, length)) {
+			hits.increment();
+			return second;
+		}
+		misses.increment();
+		String value = new String(text, start, length);
+		if (second != null) {
+			evictions.increment();
+		}
+		entries.set(set + 1, first);
+		entries.set(set, value);
+		return value;
+	}
+
+	public String intern(String value) {
+		return fromText(value.toCharArray(), 0, value.length());
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return the share of pooled lookups that found their value, between 0
+	 *         and 1
+	 */
+	public double getHitRate() {
+		long hit = hits.sum();
+		long total = hit + misses.sum();
+		return total == 0 ? 0 : (double) hit / total;
+	}
+
+	public int size() {
+		int size = 0;
+		for (int i = 0; i < entries.length(); i++) {
+			if (entries.get(i) != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	private static boolean matches(String candidate, int hash, char[] text, int start, int length) {
+		if (candidate == null || candidate.length() != length || candidate.hashCode() != hash) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (candidate.charAt(i) != text[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,308 @@
+package putko.parser.convert;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Parses values straight from a character range, as delivered by
+ * {@code XMLStreamReader.getTextCharacters()}. Leading and trailing whitespace
+ * is ignored the same way {@link String#trim()} does. Numbers are accumulated
+ * into primitives; only inputs outside the fast paths fall back to the JDK
+ * parsers and create a String: a double whose decimal mantissa exceeds 2^53
+ * (or has more than 18 significant digits) or whose decimal exponent lies
+ * outside -22..22, a float whose mantissa exceeds 2^24 or that has more than
+ * 10 fraction digits, exponent notation for floats, hexadecimal floating
+ * point, NaN, Infinity ... Integers are
+ * formatted the other way into a caller-supplied buffer. Base64 and UUIDs are
+ * decoded from the characters as well.
+ */
+public final class TextConversions {
+
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+	private static final int MAX_EXACT_FLOAT_MANTISSA = 1 << 24;
+	private static final double[] DOUBLE_POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14,
+			1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	private static final byte[] BASE64 = new byte[128];
+	private static final float[] FLOAT_POWERS_OF_TEN = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+	static {
+		Arrays.fill(BASE64, (byte) -1);
+		String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+		for (int i = 0; i < alphabet.length(); i++) {
+			BASE64[alphabet.charAt(i)] = (byte) i;
+		}
+	}
+
+	private TextConversions() {
+	}
+
+	public static int parseInt(char[] chars, int start, int length) {
+		long value = parseLong(chars, start, length, Integer.MIN_VALUE, Integer.MAX_VALUE);
+		return (int) value;
+	}
+
+	public static long parseLong(char[] chars, int start, int length) {
+		return parseLong(chars, start, length, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	public static boolean parseBoolean(char[] chars, int start, int length) {
+		int end = trimEnd(chars, start, start + length);
+		start = trimStart(chars, start, end);
+		if (end - start != 4) {
+			return false;
+		}
+		return (chars[start] | 0x20) == 't' && (chars[start + 1] | 0x20) == 'r' && (chars[start + 2] | 0x20) == 'u'
+				&& (chars[start + 3] | 0x20) == 'e';
+	}
+
+	public static double parseDouble(char[] chars, int start, int length) {
+		int end = trimEnd(chars, start, start + length);
+		int from = trimStart(chars, start, end);
+		long mantissa = 0;
+		int exponent = 0;
+		int i = from;
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			negative = chars[i] == '-';
+			i++;
+		}
+		int digits = 0;
+		int significant = 0;
+		boolean dot = false;
+		for (; i < end; i++) {
+			char c = chars[i];
+			if (c >= '0' && c <= '9') {
+				digits++;
+				if (mantissa != 0 || c != '0') {
+					significant++;
+				}
+				if (significant > 18) {
+					return fallbackDouble(chars, from, end);
+				}
+				mantissa = mantissa * 10 + (c - '0');
+				if (dot) {
+					exponent--;
+				}
+			} else if (c == '.' && !dot) {
+				dot = true;
+			} else {
+				break;
+			}
+		}
+		if (digits == 0) {
+			return fallbackDouble(chars, from, end);
+		}
+		if (i < end) {
+			if (chars[i] != 'e' && chars[i] != 'E') {
+				return fallbackDouble(chars, from, end);
+			}
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+				negativeExponent = chars[i] == '-';
+				i++;
+			}
+			if (i == end) {
+				return fallbackDouble(chars, from, end);
+			}
+			int explicit = 0;
+			for (; i < end; i++) {
+				char c = chars[i];
+				if (c < '0' || c > '9' || explicit > 1000) {
+					return fallbackDouble(chars, from, end);
+				}
+				explicit = explicit * 10 + (c - '0');
+			}
+			exponent += negativeExponent ? -explicit : explicit;
+		}
+		if (mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+			return fallbackDouble(chars, from, end);
+		}
+		double value = exponent < 0 ? mantissa / DOUBLE_POWERS_OF_TEN[-exponent] : mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+		return negative ? -value : value;
+	}
+
+	public static float parseFloat(char[] chars, int start, int length) {
+		int end = trimEnd(chars, start, start + length);
+		int from = trimStart(chars, start, end);
+		int mantissa = 0;
+		int exponent = 0;
+		int i = from;
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			negative = chars[i] == '-';
+			i++;
+		}
+		int digits = 0;
+		boolean dot = false;
+		for (; i < end; i++) {
+			char c = chars[i];
+			if (c >= '0' && c <= '9') {
+				digits++;
+				mantissa = mantissa * 10 + (c - '0');
+				if (mantissa > MAX_EXACT_FLOAT_MANTISSA) {
+					return fallbackFloat(chars, from, end);
+				}
+				if (dot) {
+					exponent--;
+				}
+			} else if (c == '.' && !dot) {
+				dot = true;
+			} else {
+				return fallbackFloat(chars, from, end);
+			}
+		}
+		if (digits == 0 || exponent < -10) {
+			return fallbackFloat(chars, from, end);
+		}
+		float value = exponent < 0 ? mantissa / FLOAT_POWERS_OF_TEN[-exponent] : mantissa;
+		return negative ? -value : value;
+	}
+
+	public static String toTrimmedString(char[] chars, int start, int length) {
+		int end = trimEnd(chars, start, start + length);
+		start = trimStart(chars, start, end);
+		return new String(chars, start, end - start);
+	}
+
+	/**
+	 * Decodes standard base64, ignoring whitespace such as line breaks.
+	 */
+	public static byte[] parseBase64(char[] chars, int start, int length) {
+		int end = start + length;
+		int symbols = 0;
+		int padding = 0;
+		for (int i = start; i < end; i++) {
+			char c = chars[i];
+			if (c == '=') {
+				padding++;
+			} else if (c > ' ') {
+				if (padding > 0 || c >= 128 || BASE64[c] < 0) {
+					throw new IllegalArgumentException("Illegal base64 character '" + c + "'");
+				}
+				symbols++;
+			}
+		}
+		if ((symbols + padding) % 4 == 1 || padding > 2) {
+			throw new IllegalArgumentException("Truncated base64 input");
+		}
+		byte[] bytes = new byte[symbols * 3 / 4];
+		int position = 0;
+		int buffer = 0;
+		int bits = 0;
+		for (int i = start; i < end; i++) {
+			char c = chars[i];
+			if (c <= ' ' || c == '=') {
+				continue;
+			}
+			buffer = buffer << 6 | BASE64[c];
+			bits += 6;
+			if (bits >= 8) {
+				bits -= 8;
+				bytes[position++] = (byte) (buffer >> bits);
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Parses the canonical 36 character form of a UUID.
+	 */
+	public static UUID parseUuid(char[] chars, int start, int length) {
+		if (length != 36 || chars[start + 8] != '-' || chars[start + 13] != '-' || chars[start + 18] != '-' || chars[start + 23] != '-') {
+			throw new IllegalArgumentException("Invalid UUID: " + new String(chars, start, length));
+		}
+		long mostSignificant = hex(chars, start, 8) << 32 | hex(chars, start + 9, 4) << 16 | hex(chars, start + 14, 4);
+		long leastSignificant = hex(chars, start + 19, 4) << 48 | hex(chars, start + 24, 12);
+		return new UUID(mostSignificant, leastSignificant);
+	}
+
+	/**
+	 * Writes the decimal digits of {@code value} right-aligned into
+	 * {@code buffer}, which must hold at least 20 characters.
+	 *
+	 * @return the index of the first character written
+	 */
+	public static int formatLong(long value, char[] buffer) {
+		int position = buffer.length;
+		boolean negative = value < 0;
+		if (!negative) {
+			value = -value;
+		}
+		do {
+			buffer[--position] = (char) ('0' - value % 10);
+			value /= 10;
+		} while (value != 0);
+		if (negative) {
+			buffer[--position] = '-';
+		}
+		return position;
+	}
+
+	private static long parseLong(char[] chars, int start, int length, long min, long max) {
+		int end = trimEnd(chars, start, start + length);
+		int from = trimStart(chars, start, end);
+		int i = from;
+		boolean negative = false;
+		if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+			negative = chars[i] == '-';
+			i++;
+		}
+		if (i == end) {
+			throw numberFormatException(chars, from, end);
+		}
+		long limit = negative ? min : -max;
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = chars[i] - '0';
+			if (digit < 0 || digit > 9 || value < limit / 10) {
+				throw numberFormatException(chars, from, end);
+			}
+			value = value * 10;
+			if (value < limit + digit) {
+				throw numberFormatException(chars, from, end);
+			}
+			value -= digit;
+		}
+		return negative ? value : -value;
+	}
+
+	private static long hex(char[] chars, int start, int length) {
+		long value = 0;
+		for (int i = start; i < start + length; i++) {
+			int digit = Character.digit(chars[i], 16);
+			if (digit < 0) {
+				throw new IllegalArgumentException("Invalid UUID: " + new String(chars, start, length));
+			}
+			value = value << 4 | digit;
+		}
+		return value;
+	}
+
+	private static int trimStart(char[] chars, int start, int end) {
+		while (start < end && chars[start] <= ' ') {
+			start++;
+		}
+		return start;
+	}
+
+	private static int trimEnd(char[] chars, int start, int end) {
+		while (end > start && chars[end - 1] <= ' ') {
+			end--;
+		}
+		return end;
+	}
+
+	private static double fallbackDouble(char[] chars, int start, int end) {
+		return Double.parseDouble(new String(chars, start, end - start));
+	}
+
+	private static float fallbackFloat(char[] chars, int start, int end) {
+		return Float.parseFloat(new String(chars, start, end - start));
+	}
+
+	private static NumberFormatException numberFormatException(char[] chars, int start, int end) {
+		return new NumberFormatException("For input string: \"" + new String(chars, start, end - start) + "\"");
+	}
+
+}
@@ -0,0 +1,18 @@
+package putko.parser.convert;
+
+/**
+ * Converts element and attribute text to field values and back. The text is
+ * passed as a character range that is already trimmed and only valid during
+ * the call. Conversion failures are reported with unchecked exceptions, such
+ * as {@link NumberFormatException} or {@link IllegalArgumentException}.
+ */
+@FunctionalInterface
+public interface TypeConverter<T> {
+
+	T fromText(char[] text, int start, int length);
+
+	default String toText(T value) {
+		return value.toString();
+	}
+
+}
@@ -0,0 +1,106 @@
+package putko.parser.convert;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of {@link TypeConverter}s by field type. It comes with converters
+ * for the primitives and their wrappers, {@code String}, {@code BigDecimal},
+ * {@code BigInteger}, the common {@code java.time} types, {@code UUID} and
+ * {@code byte[]} as base64; enums get an {@link EnumConverter} on first use.
+ */
+public class TypeConverters {
+
+	public static final IntConverter INT = TextConversions::parseInt;
+	public static final LongConverter LONG = TextConversions::parseLong;
+	public static final DoubleConverter DOUBLE = TextConversions::parseDouble;
+	public static final FloatConverter FLOAT = TextConversions::parseFloat;
+	public static final BooleanConverter BOOLEAN = TextConversions::parseBoolean;
+	public static final TypeConverter<String> STRING = String::new;
+
+	private final Map<Class<?>, TypeConverter<?>> converters = new ConcurrentHashMap<>();
+
+	public TypeConverters() {
+		register(int.class, INT);
+		register(Integer.class, INT);
+		register(long.class, LONG);
+		register(Long.class, LONG);
+		register(double.class, DOUBLE);
+		register(Double.class, DOUBLE);
+		register(float.class, FLOAT);
+		register(Float.class, FLOAT);
+		register(boolean.class, BOOLEAN);
+		register(Boolean.class, BOOLEAN);
+		register(String.class, STRING);
+		register(BigDecimal.class, BigDecimal::new);
+		register(BigInteger.class, (text, start, length) -> new BigInteger(new String(text, start, length)));
+		register(LocalDate.class, (text, start, length) -> LocalDate.parse(CharBuffer.wrap(text, start, length)));
+		register(LocalTime.class, (text, start, length) -> LocalTime.parse(CharBuffer.wrap(text, start, length)));
+		register(LocalDateTime.class, (text, start, length) -> LocalDateTime.parse(CharBuffer.wrap(text, start, length)));
+		register(OffsetDateTime.class, (text, start, length) -> OffsetDateTime.parse(CharBuffer.wrap(text, start, length)));
+		register(ZonedDateTime.class, (text, start, length) -> ZonedDateTime.parse(CharBuffer.wrap(text, start, length)));
+		register(Instant.class, (text, start, length) -> Instant.parse(CharBuffer.wrap(text, start, length)));
+		register(Duration.class, (text, start, length) -> Duration.parse(CharBuffer.wrap(text, start, length)));
+		register(UUID.class, TextConversions::parseUuid);
+		register(byte[].class, new TypeConverter<byte[]>() {
+			@Override
+			public byte[] fromText(char[] text, int start, int length) {
+				return TextConversions.parseBase64(text, start, length);
+			}
+
+			@Override
+			public String toText(byte[] value) {
+				return Base64.getEncoder().encodeToString(value);
+			}
+		});
+	}
+
+	/**
+	 * Registers a converter, replacing the one for the same type. Primitive
+	 * types need the matching specialized converter, for example an
+	 * {@link IntConverter} for {@code int}.
+	 */
+	public <T> void register(Class<T> type, TypeConverter<? extends T> converter) {
+		if (type.isPrimitive() && !isSpecialized(type, converter)) {
+			throw new IllegalArgumentException("Converter for " + type + " has to implement the matching primitive converter");
+		}
+		converters.put(type, converter);
+	}
+
+	/**
+	 * @return the converter for the type, or {@code null} when there is none
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public TypeConverter<?> get(Class<?> type) {
+		TypeConverter<?> converter = converters.get(type);
+		if (converter == null && type.isEnum()) {
+			converter = converters.computeIfAbsent(type, enumType -> new EnumConverter(enumType));
+		}
+		return converter;
+	}
+
+	public TypeConverters copy() {
+		TypeConverters copy = new TypeConverters();
+		copy.converters.putAll(converters);
+		return copy;
+	}
+
+	private static boolean isSpecialized(Class<?> type, TypeConverter<?> converter) {
+		return type == int.class && converter instanceof IntConverter || type == long.class && converter instanceof LongConverter
+				|| type == double.class && converter instanceof DoubleConverter || type == float.class && converter instanceof FloatConverter
+				|| type == boolean.class && converter instanceof BooleanConverter;
+	}
+
+}
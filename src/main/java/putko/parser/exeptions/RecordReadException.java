@@ -0,0 +1,14 @@
+package putko.parser.exeptions;
+
+public class RecordReadException extends RuntimeException {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 2881745930712651472L;
+
+	public RecordReadException(Throwable cause) {
+		super(cause.getMessage(), cause);
+	}
+
+}
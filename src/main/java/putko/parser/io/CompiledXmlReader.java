@@ -0,0 +1,894 @@
+package putko.parser.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Pull reader over the UTF-8 bytes of a buffer for the subset of XML bound by
+ * the parser: elements, attributes, text, CDATA sections, comments, processing
+ * instructions and the predefined and numeric character references. Element
+ * and attribute names are matched against a {@link NameTable} and returned as
+ * its strings, text is decoded straight into a reused character buffer.
+ * Anything else, such as a DOCTYPE, another encoding or namespace prefixes,
+ * ends reading with an {@link UnsupportedMarkupException} so the document can
+ * be read with StAX instead. The position of the source buffer is left
+ * untouched. In incremental mode the input is supplied in pieces, see
+ * {@link #CompiledXmlReader(NameTable)}.
+ */
+public class CompiledXmlReader implements XMLStreamReader {
+
+	/**
+	 * Event returned by {@link #next()} in incremental mode when the next event
+	 * needs bytes that have not been supplied yet.
+	 */
+	public static final int INCOMPLETE = -1;
+
+	private static final MoreInput MORE_INPUT = new MoreInput();
+
+	private final NameTable names;
+	private final boolean incremental;
+	private ByteBuffer buffer;
+	private int start;
+	private int limit;
+	private int position;
+	private long discarded;
+	private int event = START_DOCUMENT;
+	private String version;
+	private String encoding;
+	private String localName;
+	private boolean emptyElement;
+	private boolean rootClosed;
+	private int depth;
+	private int[] nameStarts = new int[16];
+	private int[] nameLengths = new int[16];
+	private String[] openNames = new String[16];
+	private char[] text = new char[64];
+	private int textLength;
+	private String[] attributeNames = new String[8];
+	private String[] attributeValues = new String[8];
+	private int attributeCount;
+
+	public CompiledXmlReader(ByteBuffer buffer, NameTable names) throws XMLStreamException {
+		this.buffer = buffer;
+		this.names = names;
+		this.incremental = false;
+		this.start = buffer.position();
+		this.limit = buffer.limit();
+		this.position = start;
+		readProlog();
+	}
+
+	/**
+	 * Creates a reader for input that arrives in pieces, supplied with
+	 * {@link #setInput(ByteBuffer, int, int)}. At the end of the supplied bytes
+	 * {@link #next()} returns {@link #INCOMPLETE} and leaves the partial event
+	 * unread, and text may be split into several events. Documents may follow
+	 * each other; end tags are matched by name, so bytes before
+	 * {@link #getPosition()} can be dropped between pieces.
+	 */
+	public CompiledXmlReader(NameTable names) {
+		this.buffer = ByteBuffer.allocate(0);
+		this.names = names;
+		this.incremental = true;
+	}
+
+	/**
+	 * Continues incremental reading on {@code buffer} between {@code from} and
+	 * {@code limit}; the bytes from {@link #getPosition()} of the previous input
+	 * that were not read yet have to come first.
+	 */
+	public void setInput(ByteBuffer buffer, int from, int limit) {
+		discarded += position - start;
+		this.buffer = buffer;
+		this.start = from;
+		this.limit = limit;
+		this.position = from;
+	}
+
+	/**
+	 * @return the index of the first byte of the input not read yet
+	 */
+	public int getPosition() {
+		return position;
+	}
+
+	/**
+	 * @return the number of elements open at the current event
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	@Override
+	public int next() throws XMLStreamException {
+		if (event == END_DOCUMENT) {
+			throw new NoSuchElementException("End of document reached");
+		}
+		if (emptyElement) {
+			emptyElement = false;
+			close(openNames[depth - 1]);
+			return event = END_ELEMENT;
+		}
+		if (!incremental) {
+			return readEvent();
+		}
+		try {
+			return readEvent();
+		} catch (MoreInput e) {
+			return event = INCOMPLETE;
+		}
+	}
+
+	/**
+	 * Reads the next event. An event is only consumed once it is complete, so
+	 * when incremental input runs out the position is still at its start.
+	 */
+	private int readEvent() throws XMLStreamException {
+		while (true) {
+			if (position >= limit) {
+				if (incremental) {
+					throw MORE_INPUT;
+				}
+				if (!rootClosed) {
+					throw error("Unexpected end of document");
+				}
+				return event = END_DOCUMENT;
+			}
+			byte b = buffer.get(position);
+			if (b != '<') {
+				if (depth > 0) {
+					readText();
+					return event = CHARACTERS;
+				}
+				if (incremental && b == (byte) 0xEF && byteAt(position + 1) == (byte) 0xBB && byteAt(position + 2) == (byte) 0xBF) {
+					position += 3;
+					continue;
+				}
+				if (!isWhitespace(b)) {
+					throw error("Content is not allowed outside the root element");
+				}
+				position++;
+				continue;
+			}
+			byte next = byteAt(position + 1);
+			if (next == '/') {
+				readEndTag();
+				return event = END_ELEMENT;
+			} else if (next == '?') {
+				if (incremental && depth == 0 && startsWith("<?xml") && isWhitespace(byteAt(position + 5))) {
+					readDeclaration();
+					continue;
+				}
+				position = skipPast(position + 2, '?', '>', "processing instruction");
+			} else if (next == '!') {
+				if (startsWith("<!--")) {
+					position = skipComment(position + 4);
+				} else if (startsWith("<![CDATA[") && depth > 0) {
+					readCData();
+					return event = CDATA;
+				} else {
+					throw new UnsupportedMarkupException("Declaration at offset " + offset());
+				}
+			} else {
+				if (depth == 0 && rootClosed && !incremental) {
+					throw error("Only one root element is allowed");
+				}
+				readStartTag();
+				return event = START_ELEMENT;
+			}
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return event != END_DOCUMENT;
+	}
+
+	@Override
+	public int getEventType() {
+		return event;
+	}
+
+	@Override
+	public String getLocalName() {
+		return localName;
+	}
+
+	@Override
+	public QName getName() {
+		return new QName(localName);
+	}
+
+	@Override
+	public boolean hasName() {
+		return event == START_ELEMENT || event == END_ELEMENT;
+	}
+
+	@Override
+	public boolean isStartElement() {
+		return event == START_ELEMENT;
+	}
+
+	@Override
+	public boolean isEndElement() {
+		return event == END_ELEMENT;
+	}
+
+	@Override
+	public boolean isCharacters() {
+		return event == CHARACTERS;
+	}
+
+	@Override
+	public boolean isWhiteSpace() {
+		if (event != CHARACTERS) {
+			return false;
+		}
+		for (int i = 0; i < textLength; i++) {
+			if (text[i] > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean hasText() {
+		return event == CHARACTERS || event == CDATA;
+	}
+
+	@Override
+	public String getText() {
+		return hasText() ? new String(text, 0, textLength) : null;
+	}
+
+	@Override
+	public char[] getTextCharacters() {
+		return text;
+	}
+
+	@Override
+	public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) {
+		int count = Math.max(0, Math.min(length, textLength - sourceStart));
+		System.arraycopy(text, sourceStart, target, targetStart, count);
+		return count;
+	}
+
+	@Override
+	public int getTextStart() {
+		return 0;
+	}
+
+	@Override
+	public int getTextLength() {
+		return textLength;
+	}
+
+	@Override
+	public String getElementText() throws XMLStreamException {
+		if (event != START_ELEMENT) {
+			throw error("Element text has to be read from a start tag");
+		}
+		StringBuilder builder = new StringBuilder();
+		while (next() != END_ELEMENT) {
+			if (event == START_ELEMENT) {
+				throw error("Element text cannot contain elements");
+			}
+			builder.append(text, 0, textLength);
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public int nextTag() throws XMLStreamException {
+		while (next() != START_ELEMENT && event != END_ELEMENT) {
+			if (!isWhiteSpace()) {
+				throw error("Tag expected");
+			}
+		}
+		return event;
+	}
+
+	@Override
+	public void require(int type, String namespaceURI, String localName) throws XMLStreamException {
+		if (type != event || localName != null && !localName.equals(this.localName) || namespaceURI != null && !namespaceURI.isEmpty()) {
+			throw error("Expected event " + type + " " + localName);
+		}
+	}
+
+	@Override
+	public int getAttributeCount() {
+		return attributeCount;
+	}
+
+	@Override
+	public String getAttributeLocalName(int index) {
+		return attributeNames[index];
+	}
+
+	@Override
+	public QName getAttributeName(int index) {
+		return new QName(attributeNames[index]);
+	}
+
+	@Override
+	public String getAttributeValue(int index) {
+		return attributeValues[index];
+	}
+
+	@Override
+	public String getAttributeValue(String namespaceURI, String localName) {
+		for (int i = 0; i < attributeCount; i++) {
+			if (attributeNames[i].equals(localName)) {
+				return attributeValues[i];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String getAttributeNamespace(int index) {
+		return null;
+	}
+
+	@Override
+	public String getAttributePrefix(int index) {
+		return "";
+	}
+
+	@Override
+	public String getAttributeType(int index) {
+		return "CDATA";
+	}
+
+	@Override
+	public boolean isAttributeSpecified(int index) {
+		return true;
+	}
+
+	@Override
+	public int getNamespaceCount() {
+		return 0;
+	}
+
+	@Override
+	public String getNamespacePrefix(int index) {
+		throw new IndexOutOfBoundsException(Integer.toString(index));
+	}
+
+	@Override
+	public String getNamespaceURI(int index) {
+		throw new IndexOutOfBoundsException(Integer.toString(index));
+	}
+
+	@Override
+	public String getNamespaceURI(String prefix) {
+		return null;
+	}
+
+	@Override
+	public String getNamespaceURI() {
+		return null;
+	}
+
+	@Override
+	public NamespaceContext getNamespaceContext() {
+		return null;
+	}
+
+	@Override
+	public String getPrefix() {
+		return "";
+	}
+
+	@Override
+	public String getPITarget() {
+		return null;
+	}
+
+	@Override
+	public String getPIData() {
+		return null;
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		return null;
+	}
+
+	@Override
+	public Location getLocation() {
+		int offset = (int) offset();
+		return new Location() {
+			@Override
+			public int getLineNumber() {
+				return -1;
+			}
+
+			@Override
+			public int getColumnNumber() {
+				return -1;
+			}
+
+			@Override
+			public int getCharacterOffset() {
+				return offset;
+			}
+
+			@Override
+			public String getPublicId() {
+				return null;
+			}
+
+			@Override
+			public String getSystemId() {
+				return null;
+			}
+		};
+	}
+
+	@Override
+	public String getEncoding() {
+		return "UTF-8";
+	}
+
+	@Override
+	public String getVersion() {
+		return version;
+	}
+
+	@Override
+	public String getCharacterEncodingScheme() {
+		return encoding;
+	}
+
+	@Override
+	public boolean isStandalone() {
+		return false;
+	}
+
+	@Override
+	public boolean standaloneSet() {
+		return false;
+	}
+
+	@Override
+	public void close() {
+	}
+
+	/**
+	 * Skips a UTF-8 byte order mark and reads the XML declaration. Other byte
+	 * order marks and encodings are not supported.
+	 */
+	private void readProlog() throws XMLStreamException {
+		int first = byteAt(position) & 0xFF;
+		if (first == 0xEF && (byteAt(position + 1) & 0xFF) == 0xBB && (byteAt(position + 2) & 0xFF) == 0xBF) {
+			position += 3;
+		} else if (first == 0xFE || first == 0xFF || first == 0) {
+			throw new UnsupportedMarkupException("Document is not UTF-8");
+		}
+		if (!startsWith("<?xml") || !isWhitespace(byteAt(position + 5))) {
+			return;
+		}
+		readDeclaration();
+	}
+
+	private void readDeclaration() throws XMLStreamException {
+		int end = skipPast(position + 5, '?', '>', "XML declaration");
+		version = pseudoAttribute("version", end);
+		encoding = pseudoAttribute("encoding", end);
+		if (encoding != null && !encoding.equalsIgnoreCase("UTF-8") && !encoding.equalsIgnoreCase("US-ASCII")) {
+			throw new UnsupportedMarkupException("Encoding " + encoding);
+		}
+		position = end;
+	}
+
+	private String pseudoAttribute(String name, int end) {
+		outer: for (int i = position + 5; i + name.length() < end; i++) {
+			for (int j = 0; j < name.length(); j++) {
+				if (buffer.get(i + j) != name.charAt(j)) {
+					continue outer;
+				}
+			}
+			int p = i + name.length();
+			while (p < end && (isWhitespace(buffer.get(p)) || buffer.get(p) == '=')) {
+				p++;
+			}
+			byte quote = buffer.get(p);
+			StringBuilder value = new StringBuilder();
+			for (p++; p < end && buffer.get(p) != quote; p++) {
+				value.append((char) buffer.get(p));
+			}
+			return value.toString();
+		}
+		return null;
+	}
+
+	private void readStartTag() throws XMLStreamException {
+		int p = position + 1;
+		int nameStart = p;
+		int hash = 0;
+		for (byte b; !isNameEnd(b = byteAt(p)); p++) {
+			if (b == ':') {
+				throw new UnsupportedMarkupException("Namespace prefix at offset " + (discarded + p - start));
+			}
+			hash = 31 * hash + b;
+		}
+		if (p == nameStart) {
+			throw error("Element name expected");
+		}
+		int nameEnd = p;
+		String name = names.get(buffer, nameStart, p - nameStart, hash);
+		attributeCount = 0;
+		while (true) {
+			p = skipWhitespace(p);
+			byte b = byteAt(p);
+			if (b == '>') {
+				p++;
+				break;
+			} else if (b == '/') {
+				if (byteAt(p + 1) != '>') {
+					throw error("'>' expected");
+				}
+				emptyElement = true;
+				p += 2;
+				break;
+			}
+			p = readAttribute(p);
+		}
+		open(nameStart, nameEnd - nameStart, name);
+		position = p;
+	}
+
+	private int readAttribute(int p) throws XMLStreamException {
+		int nameStart = p;
+		int hash = 0;
+		for (byte b; !isNameEnd(b = byteAt(p)); p++) {
+			if (b == ':') {
+				throw new UnsupportedMarkupException("Namespace prefix at offset " + (discarded + p - start));
+			}
+			hash = 31 * hash + b;
+		}
+		if (p == nameStart) {
+			throw error("Attribute name expected");
+		}
+		String name = names.get(buffer, nameStart, p - nameStart, hash);
+		if (name.equals("xmlns")) {
+			throw new UnsupportedMarkupException("Namespace declaration at offset " + (discarded + nameStart - start));
+		}
+		p = skipWhitespace(p);
+		if (byteAt(p) != '=') {
+			throw error("'=' expected");
+		}
+		p = skipWhitespace(p + 1);
+		byte quote = byteAt(p);
+		if (quote != '"' && quote != '\'') {
+			throw error("Quoted attribute value expected");
+		}
+		textLength = 0;
+		p = decode(p + 1, quote, true);
+		if (attributeCount == attributeNames.length) {
+			attributeNames = Arrays.copyOf(attributeNames, attributeCount * 2);
+			attributeValues = Arrays.copyOf(attributeValues, attributeCount * 2);
+		}
+		attributeNames[attributeCount] = name;
+		attributeValues[attributeCount++] = new String(text, 0, textLength);
+		return p + 1;
+	}
+
+	private void open(int nameStart, int nameLength, String name) {
+		if (depth == openNames.length) {
+			nameStarts = Arrays.copyOf(nameStarts, depth * 2);
+			nameLengths = Arrays.copyOf(nameLengths, depth * 2);
+			openNames = Arrays.copyOf(openNames, depth * 2);
+		}
+		nameStarts[depth] = nameStart;
+		nameLengths[depth] = nameLength;
+		openNames[depth++] = name;
+		localName = name;
+	}
+
+	private void close(String name) {
+		localName = name;
+		if (--depth == 0) {
+			rootClosed = true;
+		}
+	}
+
+	private void readEndTag() throws XMLStreamException {
+		if (depth == 0) {
+			throw error("Unexpected end tag");
+		}
+		int p = position + 2;
+		if (incremental) {
+			p = readEndTagName(p);
+		} else {
+			int nameStart = nameStarts[depth - 1];
+			int nameLength = nameLengths[depth - 1];
+			for (int i = 0; i < nameLength; i++, p++) {
+				if (byteAt(p) != buffer.get(nameStart + i)) {
+					throw error("End tag does not match " + openNames[depth - 1]);
+				}
+			}
+		}
+		byte after = byteAt(p);
+		if (after != '>' && !isWhitespace(after)) {
+			throw error("End tag does not match " + openNames[depth - 1]);
+		}
+		p = skipWhitespace(p);
+		if (byteAt(p) != '>') {
+			throw error("'>' expected");
+		}
+		position = p + 1;
+		close(openNames[depth - 1]);
+	}
+
+	/**
+	 * Matches the end tag by name, as the start tag may have been read from an
+	 * earlier piece of incremental input.
+	 */
+	private int readEndTagName(int p) throws XMLStreamException {
+		int nameStart = p;
+		int hash = 0;
+		for (byte b; !isNameEnd(b = byteAt(p)); p++) {
+			hash = 31 * hash + b;
+		}
+		if (!names.get(buffer, nameStart, p - nameStart, hash).equals(openNames[depth - 1])) {
+			throw error("End tag does not match " + openNames[depth - 1]);
+		}
+		return p;
+	}
+
+	private void readText() throws XMLStreamException {
+		textLength = 0;
+		position = decode(position, (byte) '<', false);
+	}
+
+	private void readCData() throws XMLStreamException {
+		textLength = 0;
+		int p = position + 9;
+		while (true) {
+			byte b = byteAt(p);
+			if (b == ']' && byteAt(p + 1) == ']' && byteAt(p + 2) == '>') {
+				break;
+			}
+			p = b < 0 ? decodeMultibyte(p) : appendAscii(p, b, false);
+		}
+		position = p + 3;
+	}
+
+	/**
+	 * Decodes text up to the terminator, resolving character references and
+	 * normalizing line ends; attribute values also get whitespace normalized.
+	 * Text of incremental input ends before a character that is not complete
+	 * yet.
+	 */
+	private int decode(int p, byte terminator, boolean attribute) throws XMLStreamException {
+		while (true) {
+			if (p >= limit) {
+				if (attribute) {
+					throw incremental ? MORE_INPUT : error("Unexpected end of document");
+				}
+				return p;
+			}
+			byte b = buffer.get(p);
+			if (b == terminator) {
+				return p;
+			}
+			int unit = p;
+			try {
+				if (b == '&') {
+					p = decodeReference(p);
+				} else if (b < 0) {
+					p = decodeMultibyte(p);
+				} else if (b == '<') {
+					throw error("'<' in attribute value");
+				} else {
+					p = appendAscii(p, b, attribute);
+				}
+			} catch (MoreInput e) {
+				if (attribute || textLength == 0) {
+					throw e;
+				}
+				return unit;
+			}
+		}
+	}
+
+	private int appendAscii(int p, byte b, boolean attribute) throws MoreInput {
+		char c = (char) b;
+		if (c == '\r') {
+			if (incremental && p + 1 >= limit) {
+				throw MORE_INPUT;
+			}
+			if (p + 1 < limit && buffer.get(p + 1) == '\n') {
+				return p + 1;
+			}
+			c = '\n';
+		}
+		if (attribute && (c == '\n' || c == '\t')) {
+			c = ' ';
+		}
+		append(c);
+		return p + 1;
+	}
+
+	private int decodeReference(int p) throws XMLStreamException {
+		int end = p + 1;
+		while (end < limit && buffer.get(end) != ';' && end - p < 12) {
+			end++;
+		}
+		if (byteAt(end) != ';') {
+			throw error("Malformed reference");
+		}
+		if (buffer.get(p + 1) == '#') {
+			boolean hex = buffer.get(p + 2) == 'x';
+			int codePoint = 0;
+			for (int i = p + (hex ? 3 : 2); i < end; i++) {
+				int digit = Character.digit(buffer.get(i), hex ? 16 : 10);
+				if (digit < 0) {
+					throw error("Malformed character reference");
+				}
+				codePoint = codePoint * (hex ? 16 : 10) + digit;
+			}
+			appendCodePoint(codePoint);
+		} else if (matches(p + 1, end, "lt")) {
+			append('<');
+		} else if (matches(p + 1, end, "gt")) {
+			append('>');
+		} else if (matches(p + 1, end, "amp")) {
+			append('&');
+		} else if (matches(p + 1, end, "quot")) {
+			append('"');
+		} else if (matches(p + 1, end, "apos")) {
+			append('\'');
+		} else {
+			throw new UnsupportedMarkupException("Entity reference at offset " + (discarded + p - start));
+		}
+		return end + 1;
+	}
+
+	private int decodeMultibyte(int p) throws XMLStreamException {
+		int b = buffer.get(p) & 0xFF;
+		int codePoint;
+		int length;
+		if ((b & 0xE0) == 0xC0) {
+			codePoint = b & 0x1F;
+			length = 1;
+		} else if ((b & 0xF0) == 0xE0) {
+			codePoint = b & 0x0F;
+			length = 2;
+		} else if ((b & 0xF8) == 0xF0) {
+			codePoint = b & 0x07;
+			length = 3;
+		} else {
+			throw error("Invalid UTF-8 byte");
+		}
+		for (int i = 1; i <= length; i++) {
+			int next = byteAt(p + i) & 0xFF;
+			if ((next & 0xC0) != 0x80) {
+				throw error("Invalid UTF-8 sequence");
+			}
+			codePoint = codePoint << 6 | next & 0x3F;
+		}
+		appendCodePoint(codePoint);
+		return p + length + 1;
+	}
+
+	private void appendCodePoint(int codePoint) throws XMLStreamException {
+		if (!Character.isValidCodePoint(codePoint)) {
+			throw error("Invalid character " + codePoint);
+		}
+		if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+			append((char) codePoint);
+		} else {
+			append(Character.highSurrogate(codePoint));
+			append(Character.lowSurrogate(codePoint));
+		}
+	}
+
+	private void append(char c) {
+		if (textLength == text.length) {
+			text = Arrays.copyOf(text, textLength * 2);
+		}
+		text[textLength++] = c;
+	}
+
+	private int skipComment(int p) throws XMLStreamException {
+		while (true) {
+			if (byteAt(p) == '-' && byteAt(p + 1) == '-' && byteAt(p + 2) == '>') {
+				return p + 3;
+			}
+			p++;
+		}
+	}
+
+	private int skipPast(int p, char first, char second, String construct) throws XMLStreamException {
+		while (p + 1 < limit) {
+			if (buffer.get(p) == first && buffer.get(p + 1) == second) {
+				return p + 2;
+			}
+			p++;
+		}
+		throw incremental ? MORE_INPUT : error("Unterminated " + construct);
+	}
+
+	private int skipWhitespace(int p) throws XMLStreamException {
+		while (isWhitespace(byteAt(p))) {
+			p++;
+		}
+		return p;
+	}
+
+	private boolean startsWith(String prefix) throws MoreInput {
+		if (position + prefix.length() <= limit) {
+			return matches(position, position + prefix.length(), prefix);
+		}
+		if (incremental && matches(position, limit, prefix.substring(0, limit - position))) {
+			throw MORE_INPUT;
+		}
+		return false;
+	}
+
+	private boolean matches(int from, int to, String value) {
+		if (to - from != value.length()) {
+			return false;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (buffer.get(from + i) != value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the byte at the index; reading past the end of the document is an
+	 *         error
+	 */
+	private byte byteAt(int index) throws XMLStreamException {
+		if (index >= limit) {
+			throw incremental ? MORE_INPUT : error("Unexpected end of document");
+		}
+		return buffer.get(index);
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\n' || b == '\t' || b == '\r';
+	}
+
+	private static boolean isNameEnd(byte b) {
+		return b == '>' || b == '/' || b == '=' || isWhitespace(b);
+	}
+
+	private XMLStreamException error(String message) {
+		return new XMLStreamException(message + " at offset " + offset());
+	}
+
+	private long offset() {
+		return discarded + position - start;
+	}
+
+	/**
+	 * Signals that an event of incremental input continues past the supplied
+	 * bytes. Shared and without a stack trace, as it ends every piece.
+	 */
+	private static final class MoreInput extends XMLStreamException {
+
+		private static final long serialVersionUID = 6020433524717146212L;
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+
+	}
+
+}
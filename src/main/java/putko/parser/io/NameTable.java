@@ -0,0 +1,71 @@
+package putko.parser.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Open addressing table from the UTF-8 bytes of known element and attribute
+ * names to their strings, so a name read from a buffer is recognized without
+ * being decoded or copied.
+ */
+public final class NameTable {
+
+	private final byte[][] keys;
+	private final int[] hashes;
+	private final String[] values;
+	private final int mask;
+
+	public NameTable(Collection<String> names) {
+		int capacity = Integer.highestOneBit(Math.max(names.size(), 1) * 2) * 2;
+		this.keys = new byte[capacity][];
+		this.hashes = new int[capacity];
+		this.values = new String[capacity];
+		this.mask = capacity - 1;
+		for (String name : names) {
+			byte[] key = name.getBytes(StandardCharsets.UTF_8);
+			int hash = 0;
+			for (byte b : key) {
+				hash = 31 * hash + b;
+			}
+			int i = hash & mask;
+			while (keys[i] != null && !values[i].equals(name)) {
+				i = (i + 1) & mask;
+			}
+			keys[i] = key;
+			hashes[i] = hash;
+			values[i] = name;
+		}
+	}
+
+	/**
+	 * @param hash
+	 *            {@code 31 * hash + b} over the bytes of the name
+	 * @return the known name, or a newly decoded string
+	 */
+	public String get(ByteBuffer buffer, int start, int length, int hash) {
+		for (int i = hash & mask; keys[i] != null; i = (i + 1) & mask) {
+			if (hashes[i] == hash && matches(keys[i], buffer, start, length)) {
+				return values[i];
+			}
+		}
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static boolean matches(byte[] key, ByteBuffer buffer, int start, int length) {
+		if (key.length != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (key[i] != buffer.get(start + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
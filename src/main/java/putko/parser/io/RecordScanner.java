@@ -0,0 +1,282 @@
+package putko.parser.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import lombok.Getter;
+
+/**
+ * Finds the byte range of the next record element without parsing the document.
+ * Comments, CDATA sections, processing instructions and declarations are
+ * skipped, and quoted attribute values may contain '&gt;'. The document has to be
+ * in an ASCII compatible encoding such as UTF-8.
+ */
+public class RecordScanner {
+
+	private static final byte[] COMMENT_START = bytes("<!--");
+	private static final byte[] COMMENT_END = bytes("-->");
+	private static final byte[] CDATA_START = bytes("<![CDATA[");
+	private static final byte[] CDATA_END = bytes("]]>");
+	private static final byte[] PI_END = bytes("?>");
+
+	private static final int TAG = 1;
+	private static final int COMMENT = 2;
+	private static final int CDATA = 3;
+	private static final int PROCESSING_INSTRUCTION = 4;
+	private static final int DECLARATION = 5;
+
+	private final byte[] name;
+
+	@Getter
+	private int recordStart;
+
+	@Getter
+	private int recordEnd;
+
+	@Getter
+	private int resumeFrom;
+
+	private int depth;
+	private int start = -1;
+	private int position;
+	private int markup;
+	private int markupStart;
+	private int searchFrom;
+	private byte quote;
+	private int brackets;
+
+	public RecordScanner(String recordElement) {
+		this.name = bytes(recordElement);
+	}
+
+	/**
+	 * Scans {@code buffer} between {@code from} and {@code limit} for the next
+	 * complete record. When one is found its range is available through
+	 * {@link #getRecordStart()} and {@link #getRecordEnd()}; otherwise
+	 * {@link #getResumeFrom()} tells where scanning has to resume once more bytes
+	 * are available.
+	 */
+	public boolean scan(ByteBuffer buffer, int from, int limit) {
+		depth = 0;
+		start = -1;
+		position = from;
+		markup = 0;
+		return resume(buffer, limit);
+	}
+
+	/**
+	 * Continues a scan that found no complete record after more bytes have been
+	 * appended, up to {@code limit}. The depth of the open record and the state
+	 * of open markup are kept, so bytes already scanned are not scanned again.
+	 */
+	public boolean resume(ByteBuffer buffer, int limit) {
+		int i = position;
+		if (markup != 0) {
+			int end = markupEnd(buffer, limit);
+			if (end < 0) {
+				return incomplete(limit);
+			}
+			if (markup == TAG && tag(buffer, end)) {
+				return true;
+			}
+			markup = 0;
+			i = end + 1;
+		}
+		while (i < limit) {
+			if (buffer.get(i) != '<') {
+				i++;
+				continue;
+			}
+			if (i + 1 >= limit) {
+				return incomplete(i);
+			}
+			byte next = buffer.get(i + 1);
+			if (next == '!') {
+				int comment = startsWith(buffer, i, limit, COMMENT_START);
+				int cdata = comment == 1 ? 0 : startsWith(buffer, i, limit, CDATA_START);
+				if (comment == -1 || cdata == -1) {
+					return incomplete(i);
+				}
+				if (comment == 1) {
+					open(COMMENT, i, i + COMMENT_START.length);
+				} else if (cdata == 1) {
+					open(CDATA, i, i + CDATA_START.length);
+				} else {
+					open(DECLARATION, i, i + 2);
+				}
+			} else if (next == '?') {
+				open(PROCESSING_INSTRUCTION, i, i + 2);
+			} else {
+				open(TAG, i, i + 1);
+			}
+			int end = markupEnd(buffer, limit);
+			if (end < 0) {
+				return incomplete(limit);
+			}
+			if (markup == TAG && tag(buffer, end)) {
+				return true;
+			}
+			markup = 0;
+			i = end + 1;
+		}
+		return incomplete(limit);
+	}
+
+	/**
+	 * Shifts the scan state after the first {@code count} bytes of the buffer
+	 * have been discarded and the rest moved to its start.
+	 */
+	public void discard(int count) {
+		position -= count;
+		markupStart -= count;
+		searchFrom -= count;
+		if (start >= 0) {
+			start -= count;
+		}
+	}
+
+	private void open(int type, int at, int contentStart) {
+		markup = type;
+		markupStart = at;
+		searchFrom = contentStart;
+		quote = 0;
+		brackets = 0;
+	}
+
+	/**
+	 * @return whether the completed tag ends a record
+	 */
+	private boolean tag(ByteBuffer buffer, int end) {
+		int at = markupStart;
+		if (buffer.get(at + 1) == '/') {
+			if (depth > 0 && nameMatches(buffer, at + 2, end) && --depth == 0) {
+				return found(start, end + 1);
+			}
+		} else if (nameMatches(buffer, at + 1, end)) {
+			boolean empty = buffer.get(end - 1) == '/';
+			if (depth == 0) {
+				start = at;
+				if (empty) {
+					return found(start, end + 1);
+				}
+			}
+			if (!empty) {
+				depth++;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the position of the last byte of the open markup, or -1 when it
+	 *         does not end before {@code limit}
+	 */
+	private int markupEnd(ByteBuffer buffer, int limit) {
+		switch (markup) {
+		case COMMENT:
+			return terminatorEnd(buffer, limit, COMMENT_END);
+		case CDATA:
+			return terminatorEnd(buffer, limit, CDATA_END);
+		case PROCESSING_INSTRUCTION:
+			return terminatorEnd(buffer, limit, PI_END);
+		default:
+			return tagEnd(buffer, limit, markup == DECLARATION);
+		}
+	}
+
+	private int terminatorEnd(ByteBuffer buffer, int limit, byte[] terminator) {
+		int end = indexOf(buffer, searchFrom, limit, terminator);
+		if (end < 0) {
+			searchFrom = Math.max(searchFrom, limit - terminator.length + 1);
+			return -1;
+		}
+		return end + terminator.length - 1;
+	}
+
+	private int tagEnd(ByteBuffer buffer, int limit, boolean declaration) {
+		for (int i = searchFrom; i < limit; i++) {
+			byte b = buffer.get(i);
+			if (quote != 0) {
+				if (b == quote) {
+					quote = 0;
+				}
+			} else if (b == '"' || b == '\'') {
+				quote = b;
+			} else if (declaration && b == '[') {
+				brackets++;
+			} else if (declaration && b == ']') {
+				brackets--;
+			} else if (b == '>' && brackets <= 0) {
+				return i;
+			}
+		}
+		searchFrom = limit;
+		return -1;
+	}
+
+	private boolean found(int start, int end) {
+		recordStart = start;
+		recordEnd = end;
+		this.start = -1;
+		depth = 0;
+		markup = 0;
+		position = end;
+		return true;
+	}
+
+	private boolean incomplete(int position) {
+		this.position = position;
+		resumeFrom = start >= 0 ? start : markup != 0 ? markupStart : position;
+		return false;
+	}
+
+	private boolean nameMatches(ByteBuffer buffer, int from, int tagEnd) {
+		int end = from;
+		int local = from;
+		while (end < tagEnd) {
+			byte b = buffer.get(end);
+			if (b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '/' || b == '>') {
+				break;
+			}
+			if (b == ':') {
+				local = end + 1;
+			}
+			end++;
+		}
+		if (end - local != name.length) {
+			return false;
+		}
+		for (int i = 0; i < name.length; i++) {
+			if (buffer.get(local + i) != name[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int startsWith(ByteBuffer buffer, int from, int limit, byte[] pattern) {
+		for (int i = 0; i < pattern.length; i++) {
+			if (from + i >= limit) {
+				return -1;
+			}
+			if (buffer.get(from + i) != pattern[i]) {
+				return 0;
+			}
+		}
+		return 1;
+	}
+
+	private static int indexOf(ByteBuffer buffer, int from, int limit, byte[] pattern) {
+		for (int i = from; i <= limit - pattern.length; i++) {
+			if (startsWith(buffer, i, limit, pattern) == 1) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,17 @@
+package putko.parser.io;
+
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Thrown by {@link CompiledXmlReader} for markup outside the subset it reads,
+ * telling the caller to read the document with StAX instead.
+ */
+public class UnsupportedMarkupException extends XMLStreamException {
+
+	private static final long serialVersionUID = 3481592659081306217L;
+
+	public UnsupportedMarkupException(String message) {
+		super(message);
+	}
+
+}
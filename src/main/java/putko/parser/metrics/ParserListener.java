@@ -0,0 +1,40 @@
+package putko.parser.metrics;
+
+/**
+ * Receives measurements from the parser. Register an implementation with
+ * {@code Configuration.setListener}; without a listener the parser takes no
+ * timestamps at all. Callbacks run on the parsing thread, so implementations
+ * have to be thread-safe and cheap. All durations are in nanoseconds.
+ */
+public interface ParserListener {
+
+	/**
+	 * A document, or one record of a stream, has been bound.
+	 *
+	 * @param elements number of bound elements, skipped subtrees not included
+	 * @param conversionNanos part of {@code nanos} spent converting text and
+	 *            assigning leaf values
+	 */
+	default void documentBound(Class<?> type, int elements, long nanos, long conversionNanos) {
+	}
+
+	/**
+	 * Bytes consumed from an {@code InputStream}, {@code ByteBuffer} or file
+	 * source. Not reported for {@code String} and {@code Reader} sources.
+	 */
+	default void bytesRead(long bytes) {
+	}
+
+	default void validated(Class<?> validator, long nanos) {
+	}
+
+	/**
+	 * A binding plan was created, that is the binding plan cache missed.
+	 */
+	default void bindingPlanCreated(Class<?> type, long nanos) {
+	}
+
+	default void failed(Class<?> type, Throwable error) {
+	}
+
+}
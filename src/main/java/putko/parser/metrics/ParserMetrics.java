@@ -0,0 +1,99 @@
+package putko.parser.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ParserListener} that aggregates everything into striped counters and
+ * {@link LatencyHistogram}s, keyed by bound class, validator class and
+ * exception class. Binding plan cache hits and evictions are counted by the
+ * cache itself, see {@code XmlParser.getBindingPlanCache()}.
+ */
+public class ParserMetrics implements ParserListener {
+
+	private final LongAdder documents = new LongAdder();
+	private final LongAdder elements = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final LatencyHistogram conversionTime = new LatencyHistogram();
+	private final ConcurrentMap<Class<?>, LatencyHistogram> bindTime = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Class<?>, LatencyHistogram> validatorTime = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Class<?>, LatencyHistogram> planCreationTime = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Class<?>, LongAdder> errors = new ConcurrentHashMap<>();
+
+	@Override
+	public void documentBound(Class<?> type, int elements, long nanos, long conversionNanos) {
+		documents.increment();
+		this.elements.add(elements);
+		histogram(bindTime, type).record(nanos);
+		conversionTime.record(conversionNanos);
+	}
+
+	@Override
+	public void bytesRead(long bytes) {
+		this.bytes.add(bytes);
+	}
+
+	@Override
+	public void validated(Class<?> validator, long nanos) {
+		histogram(validatorTime, validator).record(nanos);
+	}
+
+	@Override
+	public void bindingPlanCreated(Class<?> type, long nanos) {
+		histogram(planCreationTime, type).record(nanos);
+	}
+
+	@Override
+	public void failed(Class<?> type, Throwable error) {
+		LongAdder counter = errors.get(error.getClass());
+		if (counter == null) {
+			counter = errors.computeIfAbsent(error.getClass(), key -> new LongAdder());
+		}
+		counter.increment();
+	}
+
+	public long getDocuments() {
+		return documents.sum();
+	}
+
+	public long getElements() {
+		return elements.sum();
+	}
+
+	public long getBytes() {
+		return bytes.sum();
+	}
+
+	public LatencyHistogram getConversionTime() {
+		return conversionTime;
+	}
+
+	public Map<Class<?>, LatencyHistogram> getBindTime() {
+		return Collections.unmodifiableMap(bindTime);
+	}
+
+	public Map<Class<?>, LatencyHistogram> getValidatorTime() {
+		return Collections.unmodifiableMap(validatorTime);
+	}
+
+	public Map<Class<?>, LatencyHistogram> getPlanCreationTime() {
+		return Collections.unmodifiableMap(planCreationTime);
+	}
+
+	public long getErrors(Class<? extends Throwable> type) {
+		LongAdder counter = errors.get(type);
+		return counter == null ? 0 : counter.sum();
+	}
+
+	private static LatencyHistogram histogram(ConcurrentMap<Class<?>, LatencyHistogram> histograms, Class<?> key) {
+		LatencyHistogram histogram = histograms.get(key);
+		if (histogram == null) {
+			histogram = histograms.computeIfAbsent(key, type -> new LatencyHistogram());
+		}
+		return histogram;
+	}
+
+}
@@ -0,0 +1,217 @@
+package putko.parser.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+import putko.parser.access.GeneratedBinder;
+import putko.parser.annotation.XmlAttribute;
+import putko.parser.annotation.XmlElement;
+import putko.parser.annotation.XmlRoot;
+
+/**
+ * Generates a {@link GeneratedBinder} for every {@link XmlRoot} class, so the
+ * parser can create instances and read and write {@link XmlElement} and
+ * {@link XmlAttribute} fields without reflection. Fields are accessed directly when they are visible from
+ * the package, otherwise through their setter and getter; fields that are
+ * neither are left to the reflective accessors at runtime. Enable it with
+ * {@code -processor putko.parser.processor.BinderProcessor}.
+ */
+@SupportedAnnotationTypes("putko.parser.annotation.XmlRoot")
+public class BinderProcessor extends AbstractProcessor {
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(XmlRoot.class)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				continue;
+			}
+			TypeElement type = (TypeElement) element;
+			if (!isBindable(type)) {
+				processingEnv.getMessager().printMessage(Kind.NOTE, "No binder generated for " + type.getQualifiedName()
+						+ ", it is not accessible from its package", type);
+				continue;
+			}
+			try {
+				writeBinder(type);
+			} catch (IOException e) {
+				processingEnv.getMessager().printMessage(Kind.ERROR, "Cannot write binder: " + e.getMessage(), type);
+			}
+		}
+		return false;
+	}
+
+	private boolean isBindable(TypeElement type) {
+		if (type.getModifiers().contains(Modifier.ABSTRACT) || !type.getTypeParameters().isEmpty()) {
+			return false;
+		}
+		Element current = type;
+		while (current instanceof TypeElement) {
+			Set<Modifier> modifiers = current.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE)) {
+				return false;
+			}
+			if (current.getEnclosingElement() instanceof TypeElement && !modifiers.contains(Modifier.STATIC)) {
+				return false;
+			}
+			current = current.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private void writeBinder(TypeElement type) throws IOException {
+		PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+		String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_')
+				+ GeneratedBinder.SUFFIX;
+		String typeName = type.getQualifiedName().toString();
+
+		StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+		source.append("/** Generated by ").append(BinderProcessor.class.getName()).append(", do not edit. */\n");
+		source.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+		source.append("public final class ").append(simpleName).append(" implements putko.parser.access.GeneratedBinder<").append(typeName)
+				.append("> {\n\n");
+		source.append("\t@Override\n\tpublic Class<").append(typeName).append("> getType() {\n\t\treturn ").append(typeName)
+				.append(".class;\n\t}\n\n");
+		source.append("\t@Override\n\tpublic ").append(typeName).append(" newInstance() {\n\t\treturn ")
+				.append(hasNoArgConstructor(type) ? "new " + typeName + "()" : "null").append(";\n\t}\n\n");
+		source.append("\t@Override\n\tpublic putko.parser.access.FieldAccessor getAccessor(String fieldName) {\n\t\tswitch (fieldName) {\n");
+		for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			if (field.getAnnotation(XmlElement.class) == null && field.getAnnotation(XmlAttribute.class) == null
+					|| field.getModifiers().contains(Modifier.STATIC)) {
+				continue;
+			}
+			String target = writeTarget(type, field);
+			String read = readTarget(type, field);
+			if (target != null && read != null) {
+				appendAccessor(source, typeName, field, target, read);
+			}
+		}
+		source.append("\t\tdefault:\n\t\t\treturn null;\n\t\t}\n\t}\n\n}\n");
+
+		try (Writer writer = processingEnv.getFiler()
+				.createSourceFile(packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type).openWriter()) {
+			writer.write(source.toString());
+		}
+	}
+
+	private void appendAccessor(StringBuilder source, String typeName, VariableElement field, String target, String read) {
+		TypeMirror fieldType = field.asType();
+		source.append("\t\tcase \"").append(field.getSimpleName()).append("\":\n");
+		source.append("\t\t\treturn new putko.parser.access.AbstractFieldAccessor() {\n");
+		String objectType = fieldType.getKind().isPrimitive()
+				? processingEnv.getTypeUtils().boxedClass((PrimitiveType) fieldType).getQualifiedName().toString()
+				: processingEnv.getTypeUtils().erasure(fieldType).toString();
+		appendSetter(source, "set", "Object", typeName, target, "(" + objectType + ") value");
+		appendGetter(source, "get", "Object", typeName, read);
+		String primitiveSetter = primitiveSetter(fieldType.getKind());
+		if (primitiveSetter != null) {
+			appendSetter(source, primitiveSetter, fieldType.toString(), typeName, target, "value");
+			appendGetter(source, "g" + primitiveSetter.substring(1), fieldType.toString(), typeName, read);
+		}
+		source.append("\t\t\t};\n");
+	}
+
+	private static void appendSetter(StringBuilder source, String method, String parameterType, String typeName, String target, String value) {
+		source.append("\t\t\t\t@Override\n\t\t\t\tpublic void ").append(method).append("(Object target, ").append(parameterType)
+				.append(" value) {\n\t\t\t\t\t((").append(typeName).append(") target).").append(String.format(target, value))
+				.append(";\n\t\t\t\t}\n");
+	}
+
+	private static void appendGetter(StringBuilder source, String method, String returnType, String typeName, String read) {
+		source.append("\t\t\t\t@Override\n\t\t\t\tpublic ").append(returnType).append(" ").append(method)
+				.append("(Object target) {\n\t\t\t\t\treturn ((").append(typeName).append(") target).").append(read)
+				.append(";\n\t\t\t\t}\n");
+	}
+
+	private String readTarget(TypeElement type, VariableElement field) {
+		if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+			return field.getSimpleName().toString();
+		}
+		String name = field.getSimpleName().toString();
+		String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+			String methodName = method.getSimpleName().toString();
+			boolean getter = methodName.equals("get" + suffix) || field.asType().getKind() == TypeKind.BOOLEAN && methodName.equals("is" + suffix);
+			if (getter && method.getParameters().isEmpty()
+					&& processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())
+					&& !method.getModifiers().contains(Modifier.PRIVATE) && !method.getModifiers().contains(Modifier.STATIC)) {
+				return methodName + "()";
+			}
+		}
+		return null;
+	}
+
+	private String writeTarget(TypeElement type, VariableElement field) {
+		Set<Modifier> modifiers = field.getModifiers();
+		if (!modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.FINAL)) {
+			return field.getSimpleName() + " = %s";
+		}
+		String name = field.getSimpleName().toString();
+		String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+			List<? extends VariableElement> parameters = method.getParameters();
+			if (method.getSimpleName().contentEquals(setter) && parameters.size() == 1
+					&& processingEnv.getTypeUtils().isSameType(parameters.get(0).asType(), field.asType())
+					&& !method.getModifiers().contains(Modifier.PRIVATE) && !method.getModifiers().contains(Modifier.STATIC)) {
+				return setter + "(%s)";
+			}
+		}
+		return null;
+	}
+
+	private static boolean hasNoArgConstructor(TypeElement type) {
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+		for (ExecutableElement constructor : constructors) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String primitiveSetter(TypeKind kind) {
+		switch (kind) {
+		case INT:
+			return "setInt";
+		case LONG:
+			return "setLong";
+		case DOUBLE:
+			return "setDouble";
+		case FLOAT:
+			return "setFloat";
+		case BOOLEAN:
+			return "setBoolean";
+		default:
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,26 @@
+package putko.parser.validation;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * All validation failures of one document, thrown when validation is deferred
+ * to a validation executor.
+ */
+public class ValidationReport extends ValidationException {
+
+	private static final long serialVersionUID = 2370716420437575914L;
+
+	private final List<ValidationException> failures;
+
+	public ValidationReport(List<ValidationException> failures) {
+		super(failures.size() + " validation failure(s), first: " + failures.get(0).getMessage());
+		this.failures = Collections.unmodifiableList(failures);
+		failures.forEach(this::addSuppressed);
+	}
+
+	public List<ValidationException> getFailures() {
+		return failures;
+	}
+
+}
@@ -0,0 +1,51 @@
+package putko.parser.validation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Concurrent registry of validator instances. Validators that are not
+ * registered explicitly are instantiated once, on first use. Binding plans
+ * keep the instances they resolved, so the registry is frozen together with
+ * the parser configuration and custom instances have to be registered before
+ * the first document is read.
+ */
+public class ValidatorRegistry {
+
+	private final ConcurrentMap<Class<?>, Validator<?>> validators = new ConcurrentHashMap<>();
+
+	private volatile boolean frozen;
+
+	@SuppressWarnings("unchecked")
+	public <T> Validator<T> get(Class<? extends Validator<?>> type) {
+		Validator<?> validator = validators.get(type);
+		if (validator == null) {
+			validator = validators.computeIfAbsent(type, ValidatorRegistry::instantiate);
+		}
+		return (Validator<T>) validator;
+	}
+
+	public void register(Validator<?> validator) {
+		if (frozen) {
+			throw new IllegalStateException("Validators cannot be registered once the parser has been used");
+		}
+		validators.put(validator.getClass(), validator);
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	public void freeze() {
+		frozen = true;
+	}
+
+	private static Validator<?> instantiate(Class<?> type) {
+		try {
+			return (Validator<?>) type.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IllegalArgumentException("Cannot instantiate validator " + type.getName(), e);
+		}
+	}
+
+}
@@ -0,0 +1,151 @@
+package putko.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import putko.parser.ParserTest.InternalXml;
+
+public class AsyncObjectParserTest {
+
+	private static final byte[] XML = "<InternalXml><secondString>a</secondString><number>4</number></InternalXml>"
+			.getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	public void shouldParseAsynchronously() throws Exception {
+		try (AsyncObjectParser parser = new AsyncObjectParser(new XmlParser())) {
+			CompletableFuture<InternalXml> first = parser.readObjectAsync(new ByteArrayInputStream(XML), InternalXml.class);
+			CompletableFuture<InternalXml> second = parser.readObjectAsync(ByteBuffer.wrap(XML), InternalXml.class);
+			Assert.assertEquals(InternalXml.builder().secondString("a").number(4).build(), first.get());
+			Assert.assertEquals(first.get(), second.get());
+			Assert.assertEquals(0, parser.getParsesInFlight());
+			Assert.assertEquals(0, parser.getBytesInFlight());
+		}
+	}
+
+	@Test
+	public void shouldRejectAndTimeOutBlockedParses() throws Exception {
+		AsyncOptions options = new AsyncOptions();
+		options.setMaxParsesInFlight(1);
+		CountDownLatch started = new CountDownLatch(1);
+		InputStream blocked = new InputStream() {
+			@Override
+			public int read() throws IOException {
+				started.countDown();
+				try {
+					Thread.sleep(60000);
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+				return -1;
+			}
+		};
+		try (AsyncObjectParser parser = new AsyncObjectParser(new XmlParser(), options)) {
+			CompletableFuture<InternalXml> slow = parser.readObjectAsync(blocked, 0, InternalXml.class, Duration.ofMillis(200));
+			started.await();
+			assertFailure(RejectedExecutionException.class, parser.readObjectAsync(ByteBuffer.wrap(XML), InternalXml.class));
+			assertFailure(TimeoutException.class, slow);
+			for (int i = 0; i < 100 && parser.getParsesInFlight() > 0; i++) {
+				Thread.sleep(10);
+			}
+			Assert.assertEquals(0, parser.getParsesInFlight());
+			Assert.assertNotNull(parser.readObjectAsync(ByteBuffer.wrap(XML), InternalXml.class).get());
+		}
+	}
+
+	@Test
+	public void shouldLimitBytesInFlight() throws Exception {
+		AsyncOptions options = new AsyncOptions();
+		options.setMaxBytesInFlight(XML.length);
+		CountDownLatch release = new CountDownLatch(1);
+		options.setExecutor(task -> new Thread(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				return;
+			}
+			task.run();
+		}).start());
+		try (AsyncObjectParser parser = new AsyncObjectParser(new XmlParser(), options)) {
+			CompletableFuture<InternalXml> first = parser.readObjectAsync(ByteBuffer.wrap(XML), InternalXml.class);
+			assertFailure(RejectedExecutionException.class, parser.readObjectAsync(ByteBuffer.wrap(XML), InternalXml.class));
+			release.countDown();
+			Assert.assertNotNull(first.get());
+		}
+	}
+
+	@Test
+	public void shouldChargeStreamsOfUnknownLengthAsRead() throws Exception {
+		AsyncOptions options = new AsyncOptions();
+		options.setMaxBytesInFlight(XML.length + 10);
+		CountDownLatch release = new CountDownLatch(1);
+		try (AsyncObjectParser parser = new AsyncObjectParser(new XmlParser(), options)) {
+			CompletableFuture<InternalXml> first = parser.readObjectAsync(held(release), XML.length, InternalXml.class, null);
+			assertFailure(RejectedExecutionException.class, parser.readObjectAsync(new ByteArrayInputStream(XML), InternalXml.class));
+			release.countDown();
+			Assert.assertNotNull(first.get());
+			Assert.assertNotNull(parser.readObjectAsync(new ByteArrayInputStream(XML), InternalXml.class).get());
+			Assert.assertEquals(0, parser.getBytesInFlight());
+		}
+	}
+
+	@Test
+	public void shouldChargeBytesReadBeyondTheAnnouncedLength() throws Exception {
+		AsyncOptions options = new AsyncOptions();
+		options.setMaxBytesInFlight(XML.length + 10);
+		CountDownLatch releaseUnderstated = new CountDownLatch(1);
+		CountDownLatch releaseExact = new CountDownLatch(1);
+		try (AsyncObjectParser parser = new AsyncObjectParser(new XmlParser(), options)) {
+			CompletableFuture<InternalXml> understated = parser.readObjectAsync(held(releaseUnderstated), 1, InternalXml.class, null);
+			CompletableFuture<InternalXml> exact = parser.readObjectAsync(held(releaseExact), XML.length, InternalXml.class, null);
+			releaseUnderstated.countDown();
+			assertFailure(RejectedExecutionException.class, understated);
+			releaseExact.countDown();
+			Assert.assertNotNull(exact.get());
+			Assert.assertEquals(0, parser.getBytesInFlight());
+		}
+	}
+
+	@Test
+	public void shouldTimeOutStreamsOfUnknownLength() throws Exception {
+		try (AsyncObjectParser parser = new AsyncObjectParser(new XmlParser())) {
+			CountDownLatch never = new CountDownLatch(1);
+			assertFailure(TimeoutException.class, parser.readObjectAsync(held(never), InternalXml.class, Duration.ofMillis(100)));
+		}
+	}
+
+	private static InputStream held(CountDownLatch release) {
+		return new ByteArrayInputStream(XML) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					return -1;
+				}
+				return super.read(b, off, len);
+			}
+		};
+	}
+
+	private static void assertFailure(Class<? extends Throwable> expected, CompletableFuture<?> future) throws InterruptedException {
+		try {
+			future.get();
+			Assert.fail();
+		} catch (ExecutionException e) {
+			Assert.assertEquals(expected, e.getCause().getClass());
+		}
+	}
+
+}
@@ -1,6 +1,34 @@
 package putko.parser;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.util.StreamReaderDelegate;
 
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -12,14 +40,22 @@ import lombok.ToString;
 import org.junit.Assert;
 import org.junit.Test;
 
+import putko.parser.access.AccessorStrategy;
+import putko.parser.annotation.XmlAttribute;
 import putko.parser.annotation.XmlElement;
 import putko.parser.annotation.XmlRoot;
+import putko.parser.annotation.XmlSubtypes;
+import putko.parser.convert.IntConverter;
+import putko.parser.convert.StringPool;
 import putko.parser.exeptions.ElementNotAnnotatedException;
 import putko.parser.exeptions.NoSuchElementException;
 import putko.parser.exeptions.NotAllowedTypeException;
+import putko.parser.io.UnsupportedMarkupException;
+import putko.parser.metrics.ParserMetrics;
 import putko.parser.validation.MinValidator;
 import putko.parser.validation.MinimumValueException;
 import putko.parser.validation.Valid;
+import putko.parser.validation.ValidationReport;
 
 public class ParserTest {
 
@@ -105,6 +141,811 @@ public class ParserTest {
 		Assert.assertEquals(expected, object);
 	}
 	
+	@Test
+	public void shouldReuseCachedBindingPlans() throws Exception{
+		XmlParser parser = new XmlParser();
+		String xml = "<Test><string>test</string><long>5</long><internal><secondString>a</secondString><number>2</number></internal></Test>";
+		parser.readObject(xml, TestXml.class);
+		Assert.assertEquals(2, parser.getBindingPlanCache().getMisses());
+		parser.readObject(xml, TestXml.class);
+		Assert.assertEquals(2, parser.getBindingPlanCache().getMisses());
+		Assert.assertEquals(1, parser.getBindingPlanCache().getHits());
+	}
+	
+	@Test
+	public void shouldWarmUpNestedBindingPlans() throws Exception{
+		XmlParser parser = new XmlParser();
+		parser.warmUp(TestXml.class);
+		Assert.assertTrue(parser.getBindingPlanCache().contains(TestXml.class));
+		Assert.assertTrue(parser.getBindingPlanCache().contains(InternalXml.class));
+	}
+	
+	@Test
+	public void shouldEvictBindingPlansOverMaximumSize() throws Exception{
+		XmlParser parser = new XmlParser();
+		parser.getConfiguration().setBindingPlanCacheSize(1);
+		parser.warmUp(TestXml.class, TestTypes.class);
+		Assert.assertEquals(1, parser.getBindingPlanCache().size());
+		Assert.assertEquals(2, parser.getBindingPlanCache().getEvictions());
+	}
+	
+	@Test
+	public void shouldRelinkEvictedChildPlans() throws Exception{
+		XmlParser parser = new XmlParser();
+		parser.getConfiguration().setBindingPlanCacheSize(1);
+		String xml = "<Test><long>1</long><internal><number>2</number></internal></Test>";
+		parser.readObject(xml, TestXml.class);
+		long misses = parser.getBindingPlanCache().getMisses();
+		TestXml object = parser.readObject(xml, TestXml.class);
+		Assert.assertEquals(2, object.internal.number);
+		Assert.assertEquals(misses + 2, parser.getBindingPlanCache().getMisses());
+		Assert.assertEquals(1, parser.getBindingPlanCache().size());
+	}
+	
+	@Test
+	public void shouldReadFromStreamingSources() throws Exception{
+		ObjectParser parser = new XmlParser();
+		String xml = "<Test><string>test</string><long>5</long><internal><secondString>a</secondString><number>2</number></internal></Test>";
+		byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+		TestXml expected = TestXml.builder().testString("test").testLong(5l)
+				.internal(InternalXml.builder().secondString("a").number(2).build()).build();
+		Assert.assertEquals(expected, parser.readObject(new ByteArrayInputStream(bytes), TestXml.class));
+		Assert.assertEquals(expected, parser.readObject(new StringReader(xml), TestXml.class));
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes).flip();
+		Assert.assertEquals(expected, parser.readObject(buffer, TestXml.class));
+		Assert.assertEquals(bytes.length, buffer.remaining());
+		Path file = Files.createTempFile("parser", ".xml");
+		try {
+			Files.write(file, bytes);
+			Assert.assertEquals(expected, parser.readObject(file, TestXml.class));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void shouldStreamRepeatedRecords() throws Exception{
+		ObjectParser parser = new XmlParser();
+		String xml = "<Orders>\n"
+				+ "  <Header><source>test</source></Header>\n"
+				+ "  <Test>\n    <string>first</string>\n    <long>1</long>\n  </Test>\n"
+				+ "  <Test>\n    <string>second</string>\n    <long>2</long>\n  </Test>\n"
+				+ "  <Test>\n    <string>third</string>\n    <long>3</long>\n  </Test>\n"
+				+ "</Orders>";
+		try (Stream<TestXml> records = parser.readStream(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), "Test", TestXml.class)) {
+			List<TestXml> firstTwo = records.limit(2).collect(Collectors.toList());
+			Assert.assertEquals(Arrays.asList(TestXml.builder().testString("first").testLong(1l).build(),
+					TestXml.builder().testString("second").testLong(2l).build()), firstTwo);
+		}
+		try (Stream<TestXml> records = parser.readStream(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), "Test", TestXml.class)) {
+			Assert.assertEquals(6l, records.mapToLong(TestXml::getTestLong).sum());
+		}
+	}
+	
+	@Test
+	public void shouldCloseReaderWhenBindingFails() throws Exception{
+		AtomicBoolean closed = new AtomicBoolean();
+		StreamReaderDelegate reader = new StreamReaderDelegate(XMLInputFactory.newInstance().createXMLStreamReader(new StringReader("<Orders><Test/></Orders>"))) {
+			@Override
+			public void close() throws XMLStreamException {
+				closed.set(true);
+				super.close();
+			}
+		};
+		RecordIterator<TestXml> records = new RecordIterator<>(reader, "Test", r -> {
+			throw new IllegalStateException("accessor failed");
+		});
+		try {
+			records.hasNext();
+			Assert.fail();
+		} catch (IllegalStateException e) {
+			Assert.assertEquals("accessor failed", e.getMessage());
+		}
+		Assert.assertTrue(closed.get());
+		Assert.assertFalse(records.hasNext());
+	}
+	
+	@Test
+	public void shouldBindRecordsInParallel() throws Exception{
+		ObjectParser parser = new XmlParser();
+		StringBuilder xml = new StringBuilder("<Orders>");
+		List<TestXml> expected = new ArrayList<>();
+		for (long i = 0; i < 2000; i++) {
+			xml.append("<Test><string>record").append(i).append("</string><long>").append(i).append("</long></Test>\n");
+			expected.add(TestXml.builder().testString("record" + i).testLong(i).build());
+		}
+		xml.append("</Orders>");
+		byte[] bytes = xml.toString().getBytes(StandardCharsets.UTF_8);
+		ParallelOptions options = new ParallelOptions();
+		options.setParallelism(4);
+		options.setQueueCapacity(8);
+		List<TestXml> ordered = new ArrayList<>();
+		parser.readParallel(new ByteArrayInputStream(bytes), "Test", TestXml.class, options, ordered::add);
+		Assert.assertEquals(expected, ordered);
+		options.setOrdered(false);
+		List<TestXml> unordered = new ArrayList<>();
+		parser.readParallel(new ByteArrayInputStream(bytes), "Test", TestXml.class, options, unordered::add);
+		Assert.assertEquals(new HashSet<>(expected), new HashSet<>(unordered));
+		Assert.assertEquals(expected.size(), unordered.size());
+	}
+	
+	@Test
+	public void shouldBindMappedSegmentsInParallel() throws Exception{
+		ObjectParser parser = new XmlParser();
+		StringBuilder xml = new StringBuilder("<?xml version=\"1.0\"?>\n<Orders><!-- records -->");
+		List<TestXml> expected = new ArrayList<>();
+		for (long i = 0; i < 2000; i++) {
+			xml.append("<Test><string>record").append(i).append("</string><long>").append(i).append("</long></Test>\n");
+			expected.add(TestXml.builder().testString("record" + i).testLong(i).build());
+		}
+		xml.append("</Orders>");
+		Path file = Files.createTempFile("parser", ".xml");
+		try {
+			Files.write(file, xml.toString().getBytes(StandardCharsets.UTF_8));
+			ParallelOptions options = new ParallelOptions();
+			options.setParallelism(4);
+			options.setQueueCapacity(8);
+			options.setSegmentSize(1000);
+			List<TestXml> ordered = new ArrayList<>();
+			parser.readParallel(file, "Test", TestXml.class, options, ordered::add);
+			Assert.assertEquals(expected, ordered);
+			options.setOrdered(false);
+			List<TestXml> unordered = new ArrayList<>();
+			parser.readParallel(file, "Test", TestXml.class, options, unordered::add);
+			Assert.assertEquals(new HashSet<>(expected), new HashSet<>(unordered));
+			Assert.assertEquals(expected.size(), unordered.size());
+			Files.write(file, "<Orders><Test><long>1</long></Test><Test><long>2</lo".getBytes(StandardCharsets.UTF_8));
+			try {
+				parser.readParallel(file, "Test", TestXml.class, options, value -> {});
+				Assert.fail();
+			} catch (XMLStreamException e) {
+				// expected
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void shouldMapOversizedSegmentsInWindows() throws Exception{
+		XmlParser parser = new XmlParser();
+		StringBuilder xml = new StringBuilder("<Orders><Header>");
+		for (int i = 0; i < 500; i++) {
+			xml.append("<note>padding</note><!-- ").append(i).append(" -->");
+		}
+		xml.append("</Header>");
+		List<TestXml> expected = new ArrayList<>();
+		for (long i = 0; i < 200; i++) {
+			xml.append("<Test><string>record").append(i).append("</string><long>").append(i).append("</long></Test>\n");
+			expected.add(TestXml.builder().testString("record" + i).testLong(i).build());
+		}
+		xml.append("</Orders>");
+		Path file = Files.createTempFile("parser", ".xml");
+		try {
+			Files.write(file, xml.toString().getBytes(StandardCharsets.UTF_8));
+			ParallelOptions options = new ParallelOptions();
+			options.setSegmentSize(1000);
+			List<TestXml> records = new ArrayList<>();
+			new MappedRecordReader<TestXml>("Test", options, chunk -> parser.readObject(chunk, TestXml.class), 300).read(file, records::add);
+			Assert.assertEquals(expected, records);
+			
+			char[] text = new char[2000];
+			Arrays.fill(text, 'x');
+			Files.write(file, ("<Orders><Test><string>" + new String(text) + "</string></Test></Orders>").getBytes(StandardCharsets.UTF_8));
+			try {
+				new MappedRecordReader<TestXml>("Test", options, chunk -> parser.readObject(chunk, TestXml.class), 300).read(file, value -> {});
+				Assert.fail();
+			} catch (XMLStreamException e) {
+				Assert.assertTrue(e.getMessage(), e.getMessage().contains("cannot be mapped"));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test(expected=MinimumValueException.class)
+	public void shouldPropagateParallelValidationException() throws Exception{
+		ObjectParser parser = new XmlParser();
+		String xml = "<list><validator><number>5</number></validator><validator><number>2</number></validator></list>";
+		parser.readParallel(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), "validator", WithValidator.class,
+				new ParallelOptions(), value -> {});
+	}
+	
+	@Test
+	public void shouldBindWithEveryAccessorStrategy() throws Exception{
+		for (AccessorStrategy strategy : AccessorStrategy.values()) {
+			ObjectParser parser = new XmlParser();
+			parser.getConfiguration().setAccessorStrategy(strategy);
+			TestTypes object = parser.readObject("<types><string>a</string><integerValue>3</integerValue>"
+					+ "<longPrimitiveValue>9</longPrimitiveValue><doublePrimitiveValue>1.5</doublePrimitiveValue>"
+					+ "<floatPrimitiveValue>2.5</floatPrimitiveValue><integerPrimitiveValue>7</integerPrimitiveValue>"
+					+ "<booleanPrimitiveValue>true</booleanPrimitiveValue></types>", TestTypes.class);
+			Assert.assertEquals(TestTypes.builder().text("a").integerValue(3).longPrimitiveValue(9l).doublePrimitiveValue(1.5d)
+					.floatPrimitiveValue(2.5f).integerPrimitiveValue(7).booleanPrimitiveValue(true).build(), object);
+		}
+	}
+	
+	@Test
+	public void shouldBuildFrozenConfiguration() throws Exception{
+		XmlParser parser = new XmlParser(ObjectParser.Configuration.builder()
+				.ignoreNotAnnotatedElements(true)
+				.accessorStrategy(AccessorStrategy.REFLECTION)
+				.build());
+		parser.readObject("<WithoutAnnotations><number>2</number></WithoutAnnotations>", WithoutAnnotations.class);
+		Assert.assertTrue(parser.getConfiguration().isFrozen());
+		try {
+			parser.getConfiguration().setIgnoreNotAnnotatedElements(false);
+			Assert.fail();
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(parser.getConfiguration().isIgnoreNotAnnotatedElements());
+		}
+		Assert.assertTrue(parser.getValidatorRegistry().isFrozen());
+		try {
+			parser.getValidatorRegistry().register(new MinValidator());
+			Assert.fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void shouldShareParserBetweenThreads() throws Exception{
+		ObjectParser parser = new XmlParser();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<WithValidator>> results = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				int number = 4 + i;
+				results.add(executor.submit(() -> parser.readObject("<validator><number>" + number + "</number></validator>", WithValidator.class)));
+			}
+			for (int i = 0; i < results.size(); i++) {
+				Assert.assertEquals(WithValidator.builder().number(4 + i).build(), results.get(i).get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void shouldBindChildrenNamedLikeTheirAncestors() throws Exception{
+		ObjectParser parser = new XmlParser();
+		Node node = parser.readObject("<node><value>1</value><node><value>2</value><node><value>3</value></node></node></node>", Node.class);
+		Assert.assertEquals(new Node(1, new Node(2, new Node(3, null))), node);
+		
+		StringWriter writer = new StringWriter();
+		parser.writeObject(node, writer);
+		Assert.assertTrue(writer.toString().endsWith("<node><value>1</value><node><value>2</value><node><value>3</value></node></node></node>"));
+		Assert.assertEquals(node, parser.readObject(writer.toString(), Node.class));
+	}
+	
+	@Test
+	public void shouldReadIndentedDocumentWithSplitText() throws Exception{
+		ObjectParser parser = new XmlParser();
+		TestXml object = parser.readObject("<Test>\n"
+				+ "  <string>fish &amp; <![CDATA[chips]]></string>\n"
+				+ "  <internal>\n"
+				+ "    <secondString>second</secondString>\n"
+				+ "    <number> 2 </number>\n"
+				+ "  </internal>\n"
+				+ "  <long>5</long>\n"
+				+ "</Test>", TestXml.class);
+		Assert.assertEquals(TestXml.builder().testString("fish & chips").testLong(5l)
+				.internal(InternalXml.builder().secondString("second").number(2).build()).build(), object);
+	}
+	
+	@Test
+	public void shouldWriteWhatItReads() throws Exception{
+		XmlParser parser = new XmlParser();
+		TestXml object = TestXml.builder().testString("fish & chips").testLong(-5l)
+				.internal(InternalXml.builder().secondString("second").number(Integer.MIN_VALUE).build()).build();
+		StringWriter writer = new StringWriter();
+		parser.writeObject(object, writer);
+		Assert.assertTrue(writer.toString().endsWith("<Test><string>fish &amp; chips</string><long>-5</long>"
+				+ "<internal><secondString>second</secondString><number>-2147483648</number></internal></Test>"));
+		Assert.assertEquals(object, parser.readObject(writer.toString(), TestXml.class));
+		
+		TestTypes types = TestTypes.builder().text("t").doubleValue(0.1d).floatPrimitiveValue(67.77f).booleanPrimitiveValue(true)
+				.longPrimitiveValue(Long.MAX_VALUE).build();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		parser.writeObject(types, output);
+		Assert.assertEquals(types, parser.readObject(new ByteArrayInputStream(output.toByteArray()), TestTypes.class));
+	}
+	
+	@Test
+	public void shouldWriteRecordsUnderOneRoot() throws Exception{
+		XmlParser parser = new XmlParser();
+		List<InternalXml> records = Arrays.asList(InternalXml.builder().secondString("a").number(1).build(),
+				InternalXml.builder().number(2).build());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		parser.writeStream(records.stream(), "records", output);
+		try (Stream<InternalXml> read = parser.readStream(new ByteArrayInputStream(output.toByteArray()), "InternalXml", InternalXml.class)) {
+			Assert.assertEquals(records, read.collect(Collectors.toList()));
+		}
+	}
+	
+	@Test
+	public void shouldReadRepeatedElements() throws Exception{
+		XmlParser parser = new XmlParser();
+		String xml = "<series>"
+				+ "<tick>1</tick><name>a</name><tick>2</tick><price>1.5</price><price>2.5</price><name>b</name>"
+				+ "<internal><secondString>x</secondString><number>1</number></internal>"
+				+ "<internal><secondString>y</secondString><number>2</number></internal>"
+				+ "<internals><number>3</number></internals>"
+				+ "</series>";
+		Series series = parser.readObject(xml, Series.class);
+		Assert.assertArrayEquals(new int[] { 1, 2 }, series.ticks);
+		Assert.assertArrayEquals(new double[] { 1.5, 2.5 }, series.prices, 0.0);
+		Assert.assertEquals(Arrays.asList("a", "b"), series.names);
+		Assert.assertEquals(Arrays.asList(InternalXml.builder().secondString("x").number(1).build(),
+				InternalXml.builder().secondString("y").number(2).build()), series.internal);
+		Assert.assertArrayEquals(new InternalXml[] { InternalXml.builder().number(3).build() }, series.internals);
+		Assert.assertNull(series.volumes);
+		
+		StringWriter writer = new StringWriter();
+		parser.writeObject(series, writer);
+		Series read = parser.readObject(writer.toString(), Series.class);
+		Assert.assertArrayEquals(series.ticks, read.ticks);
+		Assert.assertEquals(series.names, read.names);
+		Assert.assertEquals(series.internal, read.internal);
+	}
+	
+	@Test
+	public void shouldGrowPrimitiveBuffers() throws Exception{
+		StringBuilder xml = new StringBuilder("<series>");
+		for (int i = 0; i < 1000; i++) {
+			xml.append("<volume>").append(i * 1000000000l).append("</volume>");
+		}
+		Series series = new XmlParser().readObject(xml.append("</series>").toString(), Series.class);
+		Assert.assertEquals(1000, series.volumes.length);
+		Assert.assertEquals(999000000000l, series.volumes[999]);
+	}
+	
+	@Test
+	public void shouldReadAttributes() throws Exception{
+		XmlParser parser = new XmlParser();
+		Ticks ticks = parser.readObject("<ticks source=\"feed\">"
+				+ "<tick sym=\"X\" px=\" 1.25 \" qty=\"100\" live=\"true\"/>"
+				+ "<tick unknown=\"1\" qty=\"7\" sym=\"Y\"><note>late</note></tick>"
+				+ "</ticks>", Ticks.class);
+		Assert.assertEquals("feed", ticks.source);
+		Assert.assertEquals(2, ticks.ticks.size());
+		Assert.assertEquals(new Tick("X", 1.25, 100l, true, null), ticks.ticks.get(0));
+		Assert.assertEquals(new Tick("Y", 0.0, 7l, false, "late"), ticks.ticks.get(1));
+		
+		StringWriter writer = new StringWriter();
+		parser.writeObject(ticks, writer);
+		Assert.assertTrue(writer.toString().contains("<tick sym=\"X\" px=\"1.25\" qty=\"100\" live=\"true\">"));
+		Assert.assertEquals(ticks.ticks, parser.readObject(writer.toString(), Ticks.class).ticks);
+	}
+	
+	@Test
+	public void shouldSkipUnmappedSubtrees() throws Exception{
+		XmlParser parser = new XmlParser();
+		parser.getConfiguration().setIgnoreNotAnnotatedElements(true);
+		TestXml object = parser.readObject("<Test><meta><string>no</string><Test><long>1</long></Test></meta>"
+				+ "<string>test</string><long>5</long><internal><audit/><number>2</number></internal></Test>", TestXml.class);
+		Assert.assertEquals(TestXml.builder().testString("test").testLong(5l).internal(InternalXml.builder().number(2).build()).build(), object);
+	}
+	
+	@Test
+	public void shouldBindProjectedPath() throws Exception{
+		ObjectParser parser = new XmlParser();
+		String xml = "<Envelope><Header><internal><number>1</number></internal></Header>"
+				+ "<Body><Other/><InternalXml><secondString>body</secondString><number>2</number></InternalXml></Body></Envelope>";
+		InternalXml object = parser.readObject(xml, InternalXml.class, "/Envelope/Body/InternalXml");
+		Assert.assertEquals(InternalXml.builder().secondString("body").number(2).build(), object);
+		Assert.assertEquals(object, parser.readObject(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), InternalXml.class,
+				"/Envelope/Body/InternalXml"));
+		Assert.assertNull(parser.readObject(xml, InternalXml.class, "/Envelope/Header/InternalXml"));
+		Assert.assertNull(parser.readObject(xml, InternalXml.class, "/Body/InternalXml"));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void shouldRejectRelativePath() throws Exception{
+		new XmlParser().readObject("<Test/>", TestXml.class, "Test");
+	}
+	
+	@Test
+	public void shouldReportMetrics() throws Exception{
+		ParserMetrics metrics = new ParserMetrics();
+		XmlParser parser = new XmlParser(ObjectParser.Configuration.builder().listener(metrics).build());
+		byte[] xml = "<validator><number>5</number></validator>".getBytes(StandardCharsets.UTF_8);
+		parser.readObject(new ByteArrayInputStream(xml), WithValidator.class);
+		parser.readObject(ByteBuffer.wrap(xml), WithValidator.class);
+		try {
+			parser.readObject("<validator><number>2</number></validator>", WithValidator.class);
+			Assert.fail();
+		} catch (MinimumValueException e) {
+			// expected
+		}
+		Assert.assertEquals(2, metrics.getDocuments());
+		Assert.assertEquals(4, metrics.getElements());
+		Assert.assertEquals(2 * xml.length, metrics.getBytes());
+		Assert.assertEquals(2, metrics.getBindTime().get(WithValidator.class).getCount());
+		Assert.assertEquals(3, metrics.getValidatorTime().get(MinValidator.class).getCount());
+		Assert.assertEquals(2, metrics.getConversionTime().getCount());
+		Assert.assertEquals(1, metrics.getPlanCreationTime().get(WithValidator.class).getCount());
+		Assert.assertEquals(1, metrics.getErrors(MinimumValueException.class));
+	}
+	
+	@Test
+	public void shouldReportDeferredValidationFailuresTogether() throws Exception{
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			XmlParser parser = new XmlParser(ObjectParser.Configuration.builder().validationExecutor(executor).build());
+			Numbers numbers = parser.readObject("<numbers><number>5</number><number>7</number></numbers>", Numbers.class);
+			Assert.assertEquals(Arrays.asList(5, 7), numbers.numbers);
+			try {
+				parser.readObject("<numbers><number>1</number><number>5</number><number>2</number></numbers>", Numbers.class);
+				Assert.fail();
+			} catch (ValidationReport e) {
+				Assert.assertEquals(2, e.getFailures().size());
+				Assert.assertTrue(e.getFailures().get(0) instanceof MinimumValueException);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void shouldConvertRegisteredTypes() throws Exception{
+		XmlParser parser = new XmlParser(ObjectParser.Configuration.builder()
+				.converter(int.class, new IntConverter() {
+					@Override
+					public int parseInt(char[] text, int start, int length) {
+						return Integer.parseInt(new String(text, start, length), 16);
+					}
+					
+					@Override
+					public String toText(Integer value) {
+						return Integer.toHexString(value);
+					}
+				}).build());
+		String xml = "<converted kind=\"SELL\"><amount> 12.50 </amount><day>2024-02-29</day><at>2024-02-29T10:15:30Z</at>"
+				+ "<id>123e4567-e89b-12d3-a456-426614174000</id><payload>aGVsbG8=</payload><hex>ff</hex>"
+				+ "<kind>BUY</kind><kind>SELL</kind></converted>";
+		Converted object = parser.readObject(xml, Converted.class);
+		Assert.assertEquals(new BigDecimal("12.50"), object.amount);
+		Assert.assertEquals(LocalDate.of(2024, 2, 29), object.day);
+		Assert.assertEquals(Instant.parse("2024-02-29T10:15:30Z"), object.at);
+		Assert.assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), object.id);
+		Assert.assertEquals("hello", new String(object.payload, StandardCharsets.US_ASCII));
+		Assert.assertEquals(255, object.hex);
+		Assert.assertEquals(Side.SELL, object.side);
+		Assert.assertEquals(Arrays.asList(Side.BUY, Side.SELL), object.kinds);
+		
+		StringWriter writer = new StringWriter();
+		parser.writeObject(object, writer);
+		Assert.assertTrue(writer.toString().contains("<payload>aGVsbG8=</payload><hex>ff</hex>"));
+		Converted read = parser.readObject(writer.toString(), Converted.class);
+		Assert.assertEquals(object.day, read.day);
+		Assert.assertEquals(object.kinds, read.kinds);
+		Assert.assertEquals(255, read.hex);
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void shouldRejectBoxingConverterForPrimitive() throws Exception{
+		ObjectParser.Configuration.builder().converter(int.class, (text, start, length) -> 1);
+	}
+	
+	@Test
+	public void shouldRebindInPlace() throws Exception{
+		ObjectParser parser = new XmlParser();
+		TestXml object = parser.readObject("<Test><string>a</string><long>1</long><internal><number>2</number></internal></Test>", TestXml.class);
+		InternalXml internal = object.internal;
+		Assert.assertSame(object, parser.readInto("<Test><long>3</long><internal><secondString>b</secondString></internal></Test>", object));
+		Assert.assertSame(internal, object.internal);
+		Assert.assertEquals(TestXml.builder().testLong(3l).internal(InternalXml.builder().secondString("b").build()).build(), object);
+		parser.readInto("<Test><string>c</string></Test>", object);
+		Assert.assertEquals(TestXml.builder().testString("c").build(), object);
+	}
+	
+	@Test
+	public void shouldRebindInPlaceOnFreshParser() throws Exception{
+		InternalXml internal = InternalXml.builder().number(2).build();
+		TestXml object = TestXml.builder().testString("a").internal(internal).build();
+		new XmlParser().readInto("<Test><internal><secondString>b</secondString></internal></Test>", object);
+		Assert.assertSame(internal, object.internal);
+		Assert.assertEquals(TestXml.builder().internal(InternalXml.builder().secondString("b").build()).build(), object);
+	}
+	
+	@Test
+	public void shouldReuseListsAndPooledObjects() throws Exception{
+		Deque<InternalXml> free = new ArrayDeque<>();
+		ObjectPool<InternalXml> pool = new ObjectPool<InternalXml>() {
+			@Override
+			public InternalXml acquire() {
+				return free.poll();
+			}
+			
+			@Override
+			public void release(InternalXml object) {
+				free.push(object);
+			}
+		};
+		ObjectParser parser = new XmlParser(ObjectParser.Configuration.builder().pool(InternalXml.class, pool).build());
+		Series series = parser.readObject("<series><internal><number>1</number></internal><internal><number>2</number></internal>"
+				+ "<tick>1</tick></series>", Series.class);
+		List<InternalXml> list = series.internal;
+		List<InternalXml> items = new ArrayList<>(list);
+		
+		parser.readInto("<series><internal><number>3</number></internal><internal><secondString>x</secondString></internal></series>", series);
+		Assert.assertSame(list, series.internal);
+		Assert.assertNull(series.ticks);
+		Assert.assertEquals(Arrays.asList(InternalXml.builder().number(3).build(), InternalXml.builder().secondString("x").build()), list);
+		Assert.assertTrue(free.isEmpty());
+		Assert.assertTrue(list.get(0) == items.get(0) || list.get(0) == items.get(1));
+		
+		parser.readInto("<series><internal><number>4</number></internal></series>", series);
+		Assert.assertEquals(1, list.size());
+		Assert.assertEquals(1, free.size());
+	}
+	
+	@Test
+	public void shouldBindInheritedFields() throws Exception{
+		XmlParser parser = new XmlParser();
+		Quote quote = parser.readObject("<quote version=\"2\"><id>q1</id><price>1.5</price></quote>", Quote.class);
+		Assert.assertEquals("q1", quote.id);
+		Assert.assertEquals(2, quote.version);
+		Assert.assertEquals(1.5, quote.price, 0);
+		
+		StringWriter writer = new StringWriter();
+		parser.writeObject(quote, writer);
+		Assert.assertTrue(writer.toString().endsWith("<message type=\"quote\" version=\"2\"><id>q1</id><price>1.5</price></message>"));
+		Quote read = parser.readObject(writer.toString(), Quote.class);
+		Assert.assertEquals("q1", read.id);
+		Assert.assertEquals(1.5, read.price, 0);
+	}
+	
+	@Test
+	public void shouldPickSubtypeByElementName() throws Exception{
+		XmlParser parser = new XmlParser();
+		Orders orders = parser.readObject("<orders><limit><id>a</id><price>2.5</price></limit><market><id>b</id><urgent>true</urgent></market></orders>",
+				Orders.class);
+		Assert.assertEquals(2, orders.orders.size());
+		LimitOrder limit = (LimitOrder) orders.orders.get(0);
+		MarketOrder market = (MarketOrder) orders.orders.get(1);
+		Assert.assertEquals("a", limit.id);
+		Assert.assertEquals(2.5, limit.price, 0);
+		Assert.assertEquals("b", market.id);
+		Assert.assertTrue(market.urgent);
+		
+		StringWriter writer = new StringWriter();
+		parser.writeObject(orders, writer);
+		Assert.assertTrue(writer.toString().endsWith(
+				"<orders><limit><id>a</id><price>2.5</price></limit><market><id>b</id><urgent>true</urgent></market></orders>"));
+	}
+	
+	@Test
+	public void shouldPickSubtypeByDiscriminator() throws Exception{
+		XmlParser parser = new XmlParser();
+		Message message = parser.readObject("<message type=\"quote\"><id>q</id><price>3.0</price></message>", Message.class);
+		Assert.assertEquals(3.0, ((Quote) message).price, 0);
+		Assert.assertEquals(Message.class, parser.readObject("<message><id>m</id></message>", Message.class).getClass());
+		
+		Fill fill = parser.readObject("<fill><message version=\"1\" type=\"quote\"><id>q</id></message></fill>", Fill.class);
+		Assert.assertEquals("q", ((Quote) fill.message).id);
+		StringWriter writer = new StringWriter();
+		parser.writeObject(fill, writer);
+		Assert.assertTrue(writer.toString().endsWith("<fill><message type=\"quote\" version=\"1\"><id>q</id><price>0.0</price></message></fill>"));
+	}
+	
+	@Test
+	public void shouldWriteSubtypeRootsByDiscriminator() throws Exception{
+		XmlParser parser = new XmlParser();
+		Message message = parser.readObject("<message type=\"quote\"><id>q</id><price>3.0</price></message>", Message.class);
+		StringWriter writer = new StringWriter();
+		parser.writeObject(message, writer);
+		Assert.assertTrue(writer.toString().endsWith("<message type=\"quote\" version=\"0\"><id>q</id><price>3.0</price></message>"));
+		Quote quote = (Quote) parser.readObject(writer.toString(), Message.class);
+		Assert.assertEquals("q", quote.id);
+		Assert.assertEquals(3.0, quote.price, 0);
+		
+		Message plain = parser.readObject("<message><id>m</id></message>", Message.class);
+		writer = new StringWriter();
+		parser.writeStream(Stream.of(plain, quote), "messages", writer);
+		try (Stream<Message> records = parser.readStream(new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)), "message",
+				Message.class)) {
+			List<Message> read = records.collect(Collectors.toList());
+			Assert.assertEquals(Arrays.asList(Message.class, Quote.class), read.stream().map(Object::getClass).collect(Collectors.toList()));
+			Assert.assertEquals("m", read.get(0).id);
+			Assert.assertEquals(3.0, ((Quote) read.get(1)).price, 0);
+		}
+	}
+	
+	@Test
+	public void shouldWriteSubtypeRootsByElementName() throws Exception{
+		XmlParser parser = new XmlParser();
+		LimitOrder limit = (LimitOrder) parser.readObject("<limit><id>a</id><price>2.5</price></limit>", Order.class);
+		StringWriter writer = new StringWriter();
+		parser.writeObject(limit, writer);
+		Assert.assertTrue(writer.toString().endsWith("<limit><id>a</id><price>2.5</price></limit>"));
+		Assert.assertEquals(2.5, ((LimitOrder) parser.readObject(writer.toString(), Order.class)).price, 0);
+	}
+	
+	@Test
+	public void shouldReadThroughCompiledReader() throws Exception{
+		XmlParser compiled = new XmlParser(ObjectParser.Configuration.builder().compiledReader(true).build());
+		XmlParser stax = new XmlParser();
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<ticks source=\"f&amp;d\">"
+				+ "<tick sym=\"X\" px=\" 1.25 \" qty=\"100\" live=\"true\"/>"
+				+ "<tick qty=\"7\" sym=\"\u00c9\"><note><![CDATA[a<b]]> &#169;</note><meta><x/></meta></tick>"
+				+ "</ticks>";
+		ByteBuffer buffer = ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8));
+		compiled.getConfiguration().setIgnoreNotAnnotatedElements(true);
+		stax.getConfiguration().setIgnoreNotAnnotatedElements(true);
+		Ticks expected = stax.readObject(buffer, Ticks.class);
+		Ticks ticks = compiled.readObject(buffer, Ticks.class);
+		Assert.assertEquals("f&d", ticks.source);
+		Assert.assertEquals(expected.ticks, ticks.ticks);
+		Assert.assertEquals("a<b \u00a9", ticks.ticks.get(1).note);
+		Assert.assertEquals(0, buffer.position());
+		Assert.assertEquals(expected.ticks, compiled.readInto(buffer, new Ticks()).ticks);
+	}
+	
+	@Test
+	public void shouldFallBackToStaxForUnsupportedMarkup() throws Exception{
+		ParserMetrics metrics = new ParserMetrics();
+		XmlParser parser = new XmlParser(ObjectParser.Configuration.builder().compiledReader(true).listener(metrics).build());
+		String xml = "<!DOCTYPE numbers [<!ENTITY five \"5\">]><numbers><number>&five;</number><number>6</number></numbers>";
+		Numbers numbers = parser.readObject(ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8)), Numbers.class);
+		Assert.assertEquals(Arrays.asList(5, 6), numbers.numbers);
+		Assert.assertEquals(1, metrics.getDocuments());
+		Assert.assertEquals(0, metrics.getErrors(UnsupportedMarkupException.class));
+	}
+	
+	@Test
+	public void shouldReturnPooledObjectsWhenFallingBackToStax() throws Exception{
+		Deque<InternalXml> free = new ArrayDeque<>();
+		AtomicInteger created = new AtomicInteger();
+		ObjectPool<InternalXml> pool = new ObjectPool<InternalXml>() {
+			@Override
+			public InternalXml acquire() {
+				InternalXml object = free.poll();
+				if (object == null) {
+					created.incrementAndGet();
+					object = new InternalXml();
+				}
+				return object;
+			}
+			
+			@Override
+			public void release(InternalXml object) {
+				free.push(object);
+			}
+		};
+		XmlParser parser = new XmlParser(ObjectParser.Configuration.builder().compiledReader(true).pool(InternalXml.class, pool).build());
+		String xml = "<series><internal><number>1</number></internal><internal><number xmlns:a=\"urn:a\">2</number></internal></series>";
+		Series series = parser.readObject(ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8)), Series.class);
+		Assert.assertEquals(Arrays.asList(InternalXml.builder().number(1).build(), InternalXml.builder().number(2).build()), series.internal);
+		Assert.assertEquals(2, created.get());
+		Assert.assertTrue(free.isEmpty());
+		
+		xml = "<series><internal><number>3</number></internal><internal><number>4</number></internal>"
+				+ "<internal><number xmlns:a=\"urn:a\">5</number></internal></series>";
+		parser.readInto(ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8)), series);
+		Assert.assertEquals(3, series.internal.size());
+		Assert.assertEquals(3, created.get());
+		Assert.assertTrue(free.isEmpty());
+	}
+	
+	@Test
+	public void shouldBindFedChunks() throws Exception{
+		List<Tick> ticks = new ArrayList<>();
+		XmlFeeder<Tick> feeder = new XmlParser().newFeeder(Tick.class, ticks::add);
+		byte[] xml = ("<ticks><tick sym=\"X\" qty=\"1\"/><!-- <tick> --><tick sym=\"\u00c9\"><note>a &amp; b</note></tick>"
+				+ "<tick sym=\"Z\" qty=\"3\"></tick></ticks>").getBytes(StandardCharsets.UTF_8);
+		for (int i = 0; i < xml.length; i += 3) {
+			ByteBuffer chunk = ByteBuffer.wrap(xml, i, Math.min(3, xml.length - i));
+			feeder.feed(chunk);
+			Assert.assertFalse(chunk.hasRemaining());
+		}
+		feeder.endOfInput();
+		Assert.assertEquals(Arrays.asList(new Tick("X", 0, 1l, false, null), new Tick("\u00c9", 0, null, false, "a & b"),
+				new Tick("Z", 0, 3l, false, null)), ticks);
+	}
+	
+	@Test
+	public void shouldBindLargeRootDocumentWithBoundedBuffer() throws Exception{
+		List<Series> series = new ArrayList<>();
+		XmlFeeder<Series> feeder = new XmlParser().newFeeder(Series.class, series::add);
+		StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<series>");
+		for (int i = 0; i < 100000; i++) {
+			xml.append("<tick>").append(i).append("</tick><!-- \u00e9 --><name>n&#233;").append(i % 7).append("</name>\r\n");
+		}
+		byte[] bytes = xml.append("</series>").toString().getBytes(StandardCharsets.UTF_8);
+		int chunkSize = 61;
+		for (int i = 0; i < bytes.length; i += chunkSize) {
+			feeder.feed(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)));
+			Assert.assertTrue(feeder.getPendingBytes() < chunkSize);
+		}
+		feeder.endOfInput();
+		Assert.assertEquals(1, series.size());
+		Assert.assertEquals(100000, series.get(0).ticks.length);
+		Assert.assertEquals(99999, series.get(0).ticks[99999]);
+		Assert.assertEquals("n\u00e94", series.get(0).names.get(99999));
+	}
+	
+	@Test
+	public void shouldSkipFailedRecordAndContinueFeeding() throws Exception{
+		List<Tick> ticks = new ArrayList<>();
+		XmlFeeder<Tick> feeder = new XmlParser().newFeeder(Tick.class, ticks::add);
+		try {
+			feeder.feed(ByteBuffer.wrap("<ticks><tick sym=\"X\"><unknown/>".getBytes(StandardCharsets.UTF_8)));
+			Assert.fail();
+		} catch (NoSuchElementException e) {
+			// expected
+		}
+		Assert.assertTrue(ticks.isEmpty());
+		feeder.feed(ByteBuffer.wrap("<note>skipped</note></tick><tick sym=\"Z\"/></ticks>".getBytes(StandardCharsets.UTF_8)));
+		feeder.endOfInput();
+		Assert.assertEquals(Arrays.asList(new Tick("Z", 0, null, false, null)), ticks);
+	}
+	
+	@Test
+	public void shouldReportTruncatedFeed() throws Exception{
+		List<Numbers> numbers = new ArrayList<>();
+		XmlFeeder<Numbers> feeder = new XmlParser().newFeeder(Numbers.class, numbers::add);
+		feeder.feed(ByteBuffer.wrap("<numbers><number>5</number></numbers><numbers><number>6</num".getBytes(StandardCharsets.UTF_8)));
+		Assert.assertEquals(1, numbers.size());
+		try {
+			feeder.endOfInput();
+			Assert.fail();
+		} catch (XMLStreamException e) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void shouldShareRepeatedStringValues() throws Exception{
+		StringPool pool = new StringPool();
+		XmlParser parser = new XmlParser(ObjectParser.Configuration.builder().internStrings(true).stringPool(pool).build());
+		Ticks ticks = parser.readObject("<ticks source=\"feed\"><tick sym=\"X\"/><tick sym=\"Y\"/><tick sym=\"X\"><note>X</note></tick></ticks>",
+				Ticks.class);
+		Assert.assertEquals("X", ticks.ticks.get(0).symbol);
+		Assert.assertSame(ticks.ticks.get(0).symbol, ticks.ticks.get(2).symbol);
+		Assert.assertSame(ticks.ticks.get(0).symbol, ticks.ticks.get(2).note);
+		Assert.assertEquals(2, pool.getHits());
+		Assert.assertEquals(3, pool.getMisses());
+		StringWriter writer = new StringWriter();
+		parser.writeObject(ticks, writer);
+		Assert.assertTrue(writer.toString().endsWith("<note>X</note></tick></ticks>"));
+	}
+	
+	@Test
+	public void shouldLoadBindingPlanSnapshot() throws Exception{
+		ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+		XmlParser source = new XmlParser(ObjectParser.Configuration.builder().internStrings(true).build());
+		source.writeSnapshot(snapshot, Orders.class, Fill.class, Ticks.class, WithValidator.class);
+		
+		XmlParser parser = new XmlParser(ObjectParser.Configuration.builder().internStrings(true).build());
+		int loaded = parser.readSnapshot(new ByteArrayInputStream(snapshot.toByteArray()));
+		Assert.assertEquals(source.getBindingPlanCache().size(), loaded);
+		Orders orders = parser.readObject("<orders><limit><id>a</id><price>2.5</price></limit><market><id>b</id></market></orders>", Orders.class);
+		Assert.assertEquals(2.5, ((LimitOrder) orders.orders.get(0)).price, 0);
+		Assert.assertEquals("b", ((MarketOrder) orders.orders.get(1)).id);
+		Fill fill = parser.readObject("<fill><message version=\"1\" type=\"quote\"><id>q</id></message></fill>", Fill.class);
+		Assert.assertEquals("q", ((Quote) fill.message).id);
+		Ticks ticks = parser.readObject("<ticks><tick sym=\"X\" qty=\"2\"/><tick sym=\"X\"/></ticks>", Ticks.class);
+		Assert.assertSame(ticks.ticks.get(0).symbol, ticks.ticks.get(1).symbol);
+		try {
+			parser.readObject("<validator><number>2</number></validator>", WithValidator.class);
+			Assert.fail();
+		} catch (MinimumValueException e) {
+			// expected
+		}
+		Assert.assertEquals(loaded, parser.getBindingPlanCache().getMisses());
+		
+		XmlParser plain = new XmlParser();
+		Assert.assertEquals(loaded, plain.readSnapshot(new ByteArrayInputStream(snapshot.toByteArray())));
+		ticks = plain.readObject("<ticks><tick sym=\"X\"/><tick sym=\"X\"/></ticks>", Ticks.class);
+		Assert.assertNotSame(ticks.ticks.get(0).symbol, ticks.ticks.get(1).symbol);
+		
+		XmlParser other = new XmlParser(ObjectParser.Configuration.builder().ignoreNotAnnotatedElements(true).build());
+		Assert.assertEquals(0, other.readSnapshot(new ByteArrayInputStream(snapshot.toByteArray())));
+	}
+	
 	@XmlRoot(name="types")
 	@EqualsAndHashCode
 	@NoArgsConstructor
@@ -172,6 +1013,7 @@ public class ParserTest {
 		private String testString;
 		
 		@XmlElement(name="long")
+		@Getter
 		private Long testLong;
 		
 		@XmlElement(name="internal")
@@ -191,6 +1033,67 @@ public class ParserTest {
 		private int number;
 	}
 	
+	@XmlRoot(name="series")
+	public static class Series{
+		@XmlElement(name = "tick", expectedSize = 2)
+		private int[] ticks;
+		@XmlElement(name = "price")
+		private double[] prices;
+		@XmlElement(name = "volume")
+		private long[] volumes;
+		@XmlElement(name = "name")
+		private List<String> names;
+		@XmlElement(name = "internal")
+		private List<InternalXml> internal;
+		@XmlElement(name = "internals")
+		private InternalXml[] internals;
+	}
+	
+	@XmlRoot(name="ticks")
+	public static class Ticks{
+		@XmlAttribute
+		private String source;
+		@XmlElement(name = "tick")
+		private List<Tick> ticks;
+	}
+	
+	@XmlRoot(name="tick")
+	@EqualsAndHashCode
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@ToString
+	public static class Tick{
+		@XmlAttribute(name = "sym")
+		private String symbol;
+		@XmlAttribute(name = "px")
+		private double price;
+		@XmlAttribute(name = "qty")
+		private Long quantity;
+		@XmlAttribute
+		private boolean live;
+		@XmlElement(name = "note")
+		private String note;
+	}
+	
+	@XmlRoot(name="numbers")
+	public static class Numbers{
+		@XmlElement(name = "number")
+		@Valid({MinValidator.class})
+		private List<Integer> numbers;
+	}
+	
+	@XmlRoot(name="node")
+	@EqualsAndHashCode
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@ToString
+	public static class Node{
+		@XmlElement(name = "value")
+		private int value;
+		@XmlElement(name = "node")
+		private Node child;
+	}
+	
 	@XmlRoot(name="validator")
 	@EqualsAndHashCode
 	@NoArgsConstructor
@@ -212,6 +1115,76 @@ public class ParserTest {
 		private Integer number;
 	}	
 	
+	@XmlRoot(name="message")
+	@XmlSubtypes(value = { @XmlSubtypes.Type(name = "quote", type = Quote.class) }, attribute = "type")
+	public static class Message{
+		@XmlAttribute
+		protected int version;
+		@XmlElement(name = "id")
+		protected String id;
+	}
+	
+	@XmlRoot(name="quote")
+	public static class Quote extends Message{
+		@XmlElement(name = "price")
+		private double price;
+	}
+	
+	@XmlRoot(name="order")
+	@XmlSubtypes({ @XmlSubtypes.Type(name = "limit", type = LimitOrder.class), @XmlSubtypes.Type(name = "market", type = MarketOrder.class) })
+	public static abstract class Order{
+		@XmlElement(name = "id")
+		protected String id;
+	}
+	
+	@XmlRoot(name="limit")
+	public static class LimitOrder extends Order{
+		@XmlElement(name = "price")
+		private double price;
+	}
+	
+	@XmlRoot(name="market")
+	public static class MarketOrder extends Order{
+		@XmlElement(name = "urgent")
+		private boolean urgent;
+	}
+	
+	@XmlRoot(name="orders")
+	public static class Orders{
+		@XmlElement(name = "order")
+		private List<Order> orders;
+	}
+	
+	@XmlRoot(name="fill")
+	public static class Fill{
+		@XmlElement(name = "message")
+		private Message message;
+	}
+	
+	public enum Side{
+		BUY, SELL
+	}
+	
+	@XmlRoot(name="converted")
+	public static class Converted{
+		@XmlAttribute(name = "kind")
+		private Side side;
+		@XmlElement(name = "amount")
+		private BigDecimal amount;
+		@XmlElement(name = "day")
+		private LocalDate day;
+		@XmlElement(name = "at")
+		private Instant at;
+		@XmlElement(name = "id")
+		private UUID id;
+		@XmlElement(name = "payload")
+		private byte[] payload;
+		@XmlElement(name = "hex")
+		private int hex;
+		@XmlElement(name = "kind")
+		private List<Side> kinds;
+	}
+	
 	@EqualsAndHashCode
 	@NoArgsConstructor
 	@AllArgsConstructor
@@ -220,7 +1193,7 @@ public class ParserTest {
 	@lombok.Builder
 	public static class NotAllowedType{
 		@XmlElement(name="number")
-		private BigDecimal number;
+		private Number number;
 	}	
 	
 }
@@ -0,0 +1,34 @@
+package putko.parser.convert;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StringPoolTest {
+
+	@Test
+	public void shouldReturnPooledInstance() {
+		StringPool pool = new StringPool();
+		char[] text = " EUR ".toCharArray();
+		String first = pool.fromText(text, 1, 3);
+		Assert.assertEquals("EUR", first);
+		Assert.assertSame(first, pool.fromText(text, 1, 3));
+		Assert.assertSame(first, pool.intern(new String("EUR")));
+		Assert.assertEquals(2, pool.getHits());
+		Assert.assertEquals(1, pool.getMisses());
+		Assert.assertEquals(2 / 3.0, pool.getHitRate(), 1e-9);
+	}
+
+	@Test
+	public void shouldStayBounded() {
+		StringPool pool = new StringPool(8, 4);
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(Integer.toString(i), pool.intern(Integer.toString(i)));
+		}
+		Assert.assertEquals(8, pool.size());
+		Assert.assertTrue(pool.getEvictions() > 0);
+		String longValue = "too long";
+		Assert.assertNotSame(pool.intern(longValue), pool.intern(longValue));
+		Assert.assertEquals(100, pool.getMisses());
+	}
+
+}
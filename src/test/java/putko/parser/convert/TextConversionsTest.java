@@ -0,0 +1,64 @@
+package putko.parser.convert;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TextConversionsTest {
+
+	@Test
+	public void shouldParseIntegersLikeTheJdk() {
+		for (String text : new String[] { "0", "7", "-7", "+42", " 12 \n", "007", "2147483647", "-2147483648" }) {
+			Assert.assertEquals(text, Integer.parseInt(text.trim()), TextConversions.parseInt(chars(text), 1, text.length()));
+		}
+		for (String text : new String[] { "9223372036854775807", "-9223372036854775808", "\t-15" }) {
+			Assert.assertEquals(text, Long.parseLong(text.trim()), TextConversions.parseLong(chars(text), 1, text.length()));
+		}
+	}
+
+	@Test
+	public void shouldRejectMalformedIntegers() {
+		for (String text : new String[] { "", " ", "-", "1a", "2147483648", "-2147483649", "1 2" }) {
+			try {
+				TextConversions.parseInt(chars(text), 1, text.length());
+				Assert.fail(text);
+			} catch (NumberFormatException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void shouldParseDecimalsExactly() {
+		for (String text : new String[] { "0", "-0.0", "1.5", " 3.14159 ", ".5", "5.", "1e10", "1.25E-3", "123456789012345678", "0.1",
+				"1e300", "4.9e-324", "NaN", "-Infinity", "1d", "0x1p3" }) {
+			String trimmed = text.trim();
+			Assert.assertEquals(text, Double.doubleToLongBits(Double.parseDouble(trimmed)),
+					Double.doubleToLongBits(TextConversions.parseDouble(chars(text), 1, text.length())));
+			Assert.assertEquals(text, Float.floatToIntBits(Float.parseFloat(trimmed)),
+					Float.floatToIntBits(TextConversions.parseFloat(chars(text), 1, text.length())));
+		}
+		Random random = new Random(17);
+		for (int i = 0; i < 10000; i++) {
+			String text = Long.toString(random.nextInt(100000000)) + "." + Integer.toString(random.nextInt(10000));
+			Assert.assertEquals(text, Double.parseDouble(text), TextConversions.parseDouble(chars(text), 1, text.length()), 0.0);
+			Assert.assertEquals(text, Float.parseFloat(text), TextConversions.parseFloat(chars(text), 1, text.length()), 0.0f);
+			String scientific = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+			Assert.assertEquals(scientific, Double.parseDouble(scientific),
+					TextConversions.parseDouble(chars(scientific), 1, scientific.length()), 0.0);
+		}
+	}
+
+	@Test
+	public void shouldParseBooleansAndStrings() {
+		Assert.assertTrue(TextConversions.parseBoolean(chars(" TRUE "), 1, 6));
+		Assert.assertFalse(TextConversions.parseBoolean(chars("yes"), 1, 3));
+		Assert.assertEquals("a b", TextConversions.toTrimmedString(chars("\n a b\t"), 1, 6));
+	}
+
+	private static char[] chars(String text) {
+		return ("#" + text + "#").toCharArray();
+	}
+
+}
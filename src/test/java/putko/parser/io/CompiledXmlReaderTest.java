@@ -0,0 +1,147 @@
+package putko.parser.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompiledXmlReaderTest {
+
+	private static final NameTable NAMES = new NameTable(Arrays.asList("root", "item", "id"));
+
+	@Test
+	public void shouldReadElementsAttributesAndText() throws Exception {
+		CompiledXmlReader reader = reader("\uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?><!-- c --><root>"
+				+ "<item id='a&amp;b' other=\"x\ny\"/><item>1 &lt; 2 &#x20AC; \u00e9\ud83d\ude00<![CDATA[<raw>]]></item></root>");
+		Assert.assertEquals(XMLStreamConstants.START_DOCUMENT, reader.getEventType());
+		Assert.assertEquals("1.0", reader.getVersion());
+		Assert.assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+		Assert.assertSame("root", reader.getLocalName());
+		Assert.assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+		Assert.assertSame("item", reader.getLocalName());
+		Assert.assertEquals(2, reader.getAttributeCount());
+		Assert.assertSame("id", reader.getAttributeLocalName(0));
+		Assert.assertEquals("a&b", reader.getAttributeValue(null, "id"));
+		Assert.assertEquals("x y", reader.getAttributeValue(1));
+		Assert.assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+		Assert.assertEquals("item", reader.getLocalName());
+		Assert.assertEquals(XMLStreamConstants.START_ELEMENT, reader.next());
+		Assert.assertEquals(XMLStreamConstants.CHARACTERS, reader.next());
+		Assert.assertEquals("1 < 2 \u20ac \u00e9\ud83d\ude00", reader.getText());
+		Assert.assertEquals(XMLStreamConstants.CDATA, reader.next());
+		Assert.assertEquals("<raw>", reader.getText());
+		Assert.assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+		Assert.assertEquals(XMLStreamConstants.END_ELEMENT, reader.next());
+		Assert.assertEquals("root", reader.getLocalName());
+		Assert.assertEquals(XMLStreamConstants.END_DOCUMENT, reader.next());
+		Assert.assertFalse(reader.hasNext());
+	}
+
+	@Test(expected = UnsupportedMarkupException.class)
+	public void shouldNotSupportDoctype() throws Exception {
+		read("<!DOCTYPE root [<!ENTITY e \"x\">]><root>&e;</root>");
+	}
+
+	@Test(expected = UnsupportedMarkupException.class)
+	public void shouldNotSupportNamespaces() throws Exception {
+		read("<root><p:item xmlns:p=\"urn:p\"/></root>");
+	}
+
+	@Test(expected = UnsupportedMarkupException.class)
+	public void shouldNotSupportOtherEncodings() throws Exception {
+		read("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><root/>");
+	}
+
+	@Test
+	public void shouldRejectMalformedDocuments() throws Exception {
+		for (String xml : Arrays.asList("<root><item></root>", "<root><item></itemx></root>", "<root>", "<root/><root/>")) {
+			try {
+				read(xml);
+				Assert.fail(xml);
+			} catch (XMLStreamException e) {
+				Assert.assertFalse(xml, e instanceof UnsupportedMarkupException);
+			}
+		}
+	}
+
+	@Test
+	public void shouldReadIncrementalInputSplitAnywhere() throws Exception {
+		String xml = "\uFEFF<?xml version=\"1.0\"?><!-- c --><root><item id='a&amp;b' other=\"x\r\ny\"/><?pi x?>"
+				+ "<item>1 &lt; 2\r\n&#x20AC; \u00e9\ud83d\ude00<![CDATA[<raw>]]></item ></root>";
+		CompiledXmlReader whole = reader(xml);
+		StringBuilder expected = new StringBuilder();
+		while (whole.hasNext()) {
+			trace(whole, whole.next(), expected);
+		}
+		byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer pending = ByteBuffer.allocate(bytes.length);
+		CompiledXmlReader reader = new CompiledXmlReader(NAMES);
+		StringBuilder actual = new StringBuilder();
+		for (byte b : bytes) {
+			pending.put(b);
+			reader.setInput(pending, 0, pending.position());
+			for (int event = reader.next(); event != CompiledXmlReader.INCOMPLETE; event = reader.next()) {
+				trace(reader, event, actual);
+			}
+			pending.limit(pending.position()).position(reader.getPosition());
+			pending.compact();
+		}
+		trace(reader, XMLStreamConstants.END_DOCUMENT, actual);
+		Assert.assertEquals(expected.toString(), actual.toString());
+		Assert.assertEquals(0, pending.position());
+	}
+
+	@Test(expected = XMLStreamException.class)
+	public void shouldMatchIncrementalEndTagsByName() throws Exception {
+		CompiledXmlReader reader = new CompiledXmlReader(NAMES);
+		ByteBuffer first = ByteBuffer.wrap("<root><item>".getBytes(StandardCharsets.UTF_8));
+		reader.setInput(first, 0, first.limit());
+		while (reader.next() != CompiledXmlReader.INCOMPLETE) {
+			// read the start tags
+		}
+		ByteBuffer second = ByteBuffer.wrap("</root>".getBytes(StandardCharsets.UTF_8));
+		reader.setInput(second, 0, second.limit());
+		reader.next();
+	}
+
+	/**
+	 * Appends the event; consecutive text is joined, as incremental input may
+	 * split it.
+	 */
+	private static void trace(CompiledXmlReader reader, int event, StringBuilder trace) {
+		if (event == XMLStreamConstants.CHARACTERS) {
+			trace.append(reader.getText());
+			return;
+		}
+		trace.append('|').append(event);
+		if (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.END_ELEMENT) {
+			trace.append(' ').append(reader.getLocalName());
+		}
+		if (event == XMLStreamConstants.START_ELEMENT) {
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				trace.append(' ').append(reader.getAttributeLocalName(i)).append('=').append(reader.getAttributeValue(i));
+			}
+		}
+		if (event == XMLStreamConstants.CDATA) {
+			trace.append(' ').append(reader.getText());
+		}
+		trace.append('|');
+	}
+
+	private static CompiledXmlReader reader(String xml) throws XMLStreamException {
+		return new CompiledXmlReader(ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8)), NAMES);
+	}
+
+	private static void read(String xml) throws XMLStreamException {
+		CompiledXmlReader reader = reader(xml);
+		while (reader.hasNext()) {
+			reader.next();
+		}
+	}
+
+}
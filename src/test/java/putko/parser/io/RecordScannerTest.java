@@ -0,0 +1,81 @@
+package putko.parser.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RecordScannerTest {
+
+	@Test
+	public void shouldFindNestedAndEmptyRecords() {
+		String xml = "<root><r a=\"x>y\"><r/></r><other/><p:r/></root>";
+		ByteBuffer buffer = ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8));
+		RecordScanner scanner = new RecordScanner("r");
+		Assert.assertTrue(scanner.scan(buffer, 0, buffer.limit()));
+		Assert.assertEquals("<r a=\"x>y\"><r/></r>", slice(xml, scanner));
+		Assert.assertTrue(scanner.scan(buffer, scanner.getRecordEnd(), buffer.limit()));
+		Assert.assertEquals("<p:r/>", slice(xml, scanner));
+		Assert.assertFalse(scanner.scan(buffer, scanner.getRecordEnd(), buffer.limit()));
+	}
+
+	@Test
+	public void shouldSkipCommentsAndCdata() {
+		String xml = "<?xml version=\"1.0\"?><!DOCTYPE root [<!ELEMENT r ANY>]><root><!-- <r> --><![CDATA[<r>]]><r>1</r></root>";
+		ByteBuffer buffer = ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8));
+		RecordScanner scanner = new RecordScanner("r");
+		Assert.assertTrue(scanner.scan(buffer, 0, buffer.limit()));
+		Assert.assertEquals("<r>1</r>", slice(xml, scanner));
+	}
+
+	@Test
+	public void shouldResumeFromIncompleteRecord() {
+		String xml = "<root><r>1</r><r>2</";
+		ByteBuffer buffer = ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8));
+		RecordScanner scanner = new RecordScanner("r");
+		Assert.assertTrue(scanner.scan(buffer, 0, buffer.limit()));
+		Assert.assertFalse(scanner.scan(buffer, scanner.getRecordEnd(), buffer.limit()));
+		Assert.assertEquals(xml.indexOf("<r>2"), scanner.getResumeFrom());
+	}
+
+	@Test
+	public void shouldResumeWithoutRescanning() {
+		String xml = "<?pi x?><root><!-- <r> --><![CDATA[<r>]]><r a=\"x>y\"><r>1</r></r><r/></root>";
+		ByteBuffer buffer = ByteBuffer.wrap(xml.getBytes(StandardCharsets.UTF_8));
+		RecordScanner scanner = new RecordScanner("r");
+		Assert.assertFalse(scanner.scan(buffer, 0, 1));
+		int limit = 1;
+		while (!scanner.resume(buffer, ++limit)) {
+			Assert.assertTrue(limit < xml.length());
+		}
+		Assert.assertEquals("<r a=\"x>y\"><r>1</r></r>", slice(xml, scanner));
+		Assert.assertEquals(scanner.getRecordEnd(), limit);
+		Assert.assertFalse(scanner.scan(buffer, scanner.getRecordEnd(), limit + 2));
+		Assert.assertTrue(scanner.resume(buffer, limit + 4));
+		Assert.assertEquals("<r/>", slice(xml, scanner));
+	}
+
+	@Test
+	public void shouldShiftStateWhenBytesAreDiscarded() {
+		byte[] xml = "<root><r>1</r><r>2</r></root>".getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.allocate(xml.length);
+		RecordScanner scanner = new RecordScanner("r");
+		buffer.put(xml, 0, 17);
+		Assert.assertTrue(scanner.scan(buffer, 0, 17));
+		Assert.assertFalse(scanner.scan(buffer, scanner.getRecordEnd(), 17));
+		int keep = scanner.getResumeFrom();
+		buffer.limit(17).position(keep);
+		buffer.compact();
+		scanner.discard(keep);
+		buffer.put(xml, 17, xml.length - 17);
+		Assert.assertTrue(scanner.resume(buffer, buffer.position()));
+		Assert.assertEquals(0, scanner.getRecordStart());
+		Assert.assertEquals("<r>2</r>".length(), scanner.getRecordEnd());
+	}
+
+	private static String slice(String xml, RecordScanner scanner) {
+		return xml.substring(scanner.getRecordStart(), scanner.getRecordEnd());
+	}
+
+}
@@ -0,0 +1,31 @@
+package putko.parser.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void shouldKeepBucketsWithinRelativeError() {
+		for (long value : new long[] { 0, 1, 15, 16, 17, 100, 1000, 123456789, Long.MAX_VALUE }) {
+			long upperBound = LatencyHistogram.upperBound(LatencyHistogram.index(value));
+			Assert.assertTrue(value + " <= " + upperBound, value <= upperBound);
+			Assert.assertTrue(value + " ~ " + upperBound, upperBound - value <= value / 8);
+		}
+	}
+
+	@Test
+	public void shouldReportPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+		Assert.assertEquals(1000, histogram.getCount());
+		Assert.assertEquals(500.5, histogram.getMean(), 0.0);
+		Assert.assertEquals(1000, histogram.getMax());
+		Assert.assertEquals(500, histogram.getPercentile(50), 500 / 8);
+		Assert.assertEquals(990, histogram.getPercentile(99), 990 / 8);
+		Assert.assertEquals(1000, histogram.getPercentile(100));
+	}
+
+}
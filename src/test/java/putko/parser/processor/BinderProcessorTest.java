@@ -0,0 +1,86 @@
+package putko.parser.processor;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import putko.parser.BindingPlan;
+import putko.parser.XmlParser;
+import putko.parser.access.AbstractFieldAccessor;
+
+public class BinderProcessorTest {
+
+	private static final String SOURCE = "package sample;\n"
+			+ "import putko.parser.annotation.XmlElement;\n"
+			+ "import putko.parser.annotation.XmlRoot;\n"
+			+ "@XmlRoot(name = \"Order\")\n"
+			+ "public class Order {\n"
+			+ "	@XmlElement(name = \"id\") long id;\n"
+			+ "	@XmlElement(name = \"name\") private String name;\n"
+			+ "	@XmlElement(name = \"hidden\") private int hidden;\n"
+			+ "	@XmlElement(name = \"line\") Line line;\n"
+			+ "	public void setName(String name) { this.name = name; }\n"
+			+ "	public String getName() { return name; }\n"
+			+ "	@XmlRoot\n"
+			+ "	public static class Line {\n"
+			+ "		@XmlElement(name = \"qty\") public Integer qty;\n"
+			+ "	}\n"
+			+ "}\n";
+
+	@Test
+	public void shouldGenerateBinderUsedByParser() throws Exception {
+		Path directory = Files.createTempDirectory("binders");
+		Path source = directory.resolve("sample/Order.java");
+		Files.createDirectories(source.getParent());
+		Files.write(source, SOURCE.getBytes(StandardCharsets.UTF_8));
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"), "-processor",
+				BinderProcessor.class.getName(), "-d", directory.toString(), "-s", directory.toString(), source.toString());
+		Assert.assertEquals(0, result);
+		Assert.assertTrue(new File(directory.toFile(), "sample/Order_XmlBinder.java").exists());
+		Assert.assertTrue(new File(directory.toFile(), "sample/Order_Line_XmlBinder.java").exists());
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, getClass().getClassLoader())) {
+			Class<?> orderType = loader.loadClass("sample.Order");
+			XmlParser parser = new XmlParser();
+			Object order = parser.readObject("<Order><id>7</id><name>test</name><hidden>3</hidden><line><qty>2</qty></line></Order>", orderType);
+			Assert.assertEquals(7l, value(order, "id"));
+			Assert.assertEquals("test", value(order, "name"));
+			Assert.assertEquals(3, value(order, "hidden"));
+			Assert.assertEquals(2, value(value(order, "line"), "qty"));
+
+			BindingPlan plan = parser.getBindingPlanCache().get(orderType, type -> null);
+			Assert.assertNotNull(plan.getBinder());
+			Assert.assertTrue(plan.getElement("id").getAccessor() instanceof AbstractFieldAccessor);
+			Assert.assertTrue(plan.getElement("name").getAccessor() instanceof AbstractFieldAccessor);
+			Assert.assertFalse(plan.getElement("hidden").getAccessor() instanceof AbstractFieldAccessor);
+
+			StringWriter writer = new StringWriter();
+			parser.writeObject(order, writer);
+			Assert.assertTrue(writer.toString().endsWith("<Order><id>7</id><name>test</name><hidden>3</hidden><line><qty>2</qty></line></Order>"));
+		} finally {
+			try (Stream<Path> files = Files.walk(directory)) {
+				files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+			}
+		}
+	}
+
+	private static Object value(Object target, String name) throws Exception {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(target);
+	}
+
+}